@@ -0,0 +1,21 @@
+package com.project.schoolmanagment.benchmark;
+
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+
+//fills the @Value fields of components that are created without a spring context
+final class BenchmarkFields {
+
+    private BenchmarkFields() {
+    }
+
+    static void set(Object target, String fieldName, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), fieldName);
+        if (field == null) {
+            throw new IllegalArgumentException(fieldName + " not found in " + target.getClass());
+        }
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+}
@@ -0,0 +1,64 @@
+package com.project.schoolmanagment.benchmark;
+
+import com.project.schoolmanagment.entity.concretes.business.LessonProgram;
+import com.project.schoolmanagment.entity.enums.Day;
+import com.project.schoolmanagment.service.validator.DateTimeValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+//lesson program conflict check, the size is the number of programs of a teacher or student
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DateTimeValidatorBenchmark {
+
+    //10 minute slots, at most 144 programs fit into a day without overlapping
+    private static final int SLOT_MINUTES = 10;
+
+    @Param({"10", "100", "1000"})
+    private int programCount;
+
+    private final DateTimeValidator dateTimeValidator = new DateTimeValidator();
+
+    private Set<LessonProgram> conflictFreePrograms;
+
+    private Set<LessonProgram> overlappingPrograms;
+
+    @Setup
+    public void setUp() {
+        conflictFreePrograms = createPrograms(SLOT_MINUTES);
+        //every program runs into the next one of the same day
+        overlappingPrograms = createPrograms(SLOT_MINUTES + 5);
+    }
+
+    @Benchmark
+    public Set<LessonProgram> checkDuplicateLessonPrograms() {
+        dateTimeValidator.checkDuplicateLessonPrograms(conflictFreePrograms);
+        return conflictFreePrograms;
+    }
+
+    @Benchmark
+    public List<DateTimeValidator.LessonProgramConflict> findConflicts() {
+        return dateTimeValidator.findConflicts(overlappingPrograms);
+    }
+
+    private Set<LessonProgram> createPrograms(int durationMinutes) {
+        List<LessonProgram> programs = new ArrayList<>(programCount);
+        Day[] days = Day.values();
+        for (int i = 0; i < programCount; i++) {
+            LocalTime start = LocalTime.MIN.plusMinutes((long) (i / days.length) * SLOT_MINUTES);
+            programs.add(LessonProgram.builder()
+                    .id((long) i)
+                    .day(days[i % days.length])
+                    .startTime(start)
+                    .stopTime(start.plusMinutes(durationMinutes))
+                    .build());
+        }
+        //requests do not come sorted
+        Collections.shuffle(programs, new Random(42));
+        return new LinkedHashSet<>(programs);
+    }
+}
@@ -0,0 +1,49 @@
+package com.project.schoolmanagment.benchmark;
+
+import com.project.schoolmanagment.entity.enums.Note;
+import com.project.schoolmanagment.service.helper.GradeCalculator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+//average and letter grade of StudentInfoService, the size is the number of grades of one batch entry
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GradeCalculatorBenchmark {
+
+    @Param({"1", "100", "10000"})
+    private int gradeCount;
+
+    private final GradeCalculator gradeCalculator = new GradeCalculator();
+
+    private Double[] midtermExams;
+
+    private Double[] finalExams;
+
+    @Setup
+    public void setUp() {
+        //same values as application.properties
+        BenchmarkFields.set(gradeCalculator, "midtermExamPercentage", 0.40);
+        BenchmarkFields.set(gradeCalculator, "finalExamPercentage", 0.60);
+
+        Random random = new Random(42);
+        midtermExams = new Double[gradeCount];
+        finalExams = new Double[gradeCount];
+        for (int i = 0; i < gradeCount; i++) {
+            midtermExams[i] = (double) random.nextInt(101);
+            finalExams[i] = (double) random.nextInt(101);
+        }
+    }
+
+    @Benchmark
+    public Note[] calculateGrades() {
+        Note[] notes = new Note[gradeCount];
+        for (int i = 0; i < gradeCount; i++) {
+            Double average = gradeCalculator.calculateAverageNote(midtermExams[i], finalExams[i]);
+            notes[i] = gradeCalculator.checkLetterGrade(average);
+        }
+        return notes;
+    }
+}
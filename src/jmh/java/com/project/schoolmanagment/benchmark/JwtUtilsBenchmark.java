@@ -0,0 +1,54 @@
+package com.project.schoolmanagment.benchmark;
+
+import com.project.schoolmanagment.security.jwt.JwtUtils;
+import com.project.schoolmanagment.security.service.TokenVersionRegistry;
+import com.project.schoolmanagment.security.service.UserDetailsImpl;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+//token issuing and the validation done by AuthTokenFilter on every request
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtUtilsBenchmark {
+
+    //0 turns the verified token cache off, every validation parses and checks the signature
+    @Param({"0", "10000"})
+    private int verifiedTokenCacheSize;
+
+    private JwtUtils jwtUtils;
+
+    private UserDetailsImpl userDetails;
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils(new TokenVersionRegistry(), verifiedTokenCacheSize);
+        //same values as application.properties
+        BenchmarkFields.set(jwtUtils, "jwtExpirations", 8640000L);
+        BenchmarkFields.set(jwtUtils, "jwtSecret", "schoolmanagementproject");
+        jwtUtils.initSigningKey();
+
+        userDetails = new UserDetailsImpl(3L, "student1", "Stud1", false, null, "STUDENT", "223-45-6781");
+        token = jwtUtils.generateTokenFromUserDetails(userDetails);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtils.generateTokenFromUserDetails(userDetails);
+    }
+
+    @Benchmark
+    public Claims parseAndValidate() {
+        return jwtUtils.parseAndValidateJwt(token);
+    }
+
+    @Benchmark
+    public UserDetailsImpl validateAndBuildPrincipal() {
+        Claims claims = jwtUtils.parseAndValidateJwt(token);
+        return jwtUtils.isTokenVersionCurrent(claims) ? jwtUtils.getUserDetailsFromClaims(claims) : null;
+    }
+}
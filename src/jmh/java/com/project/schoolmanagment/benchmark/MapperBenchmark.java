@@ -0,0 +1,175 @@
+package com.project.schoolmanagment.benchmark;
+
+import com.project.schoolmanagment.entity.concretes.business.EducationTerm;
+import com.project.schoolmanagment.entity.concretes.business.Lesson;
+import com.project.schoolmanagment.entity.concretes.business.LessonProgram;
+import com.project.schoolmanagment.entity.concretes.business.StudentInfo;
+import com.project.schoolmanagment.entity.concretes.user.User;
+import com.project.schoolmanagment.entity.concretes.user.UserRole;
+import com.project.schoolmanagment.entity.enums.*;
+import com.project.schoolmanagment.payload.mappers.EducationTermMapper;
+import com.project.schoolmanagment.payload.mappers.LessonMapper;
+import com.project.schoolmanagment.payload.mappers.LessonProgramMapper;
+import com.project.schoolmanagment.payload.mappers.StudentInfoMapper;
+import com.project.schoolmanagment.payload.mappers.UserMapper;
+import com.project.schoolmanagment.payload.request.user.StudentRequest;
+import com.project.schoolmanagment.payload.response.business.LessonProgramResponse;
+import com.project.schoolmanagment.payload.response.business.StudentInfoResponse;
+import com.project.schoolmanagment.payload.response.user.StudentResponse;
+import com.project.schoolmanagment.payload.response.user.UserResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+//entity <-> DTO conversions, the size is the number of rows of one page or batch
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MapperBenchmark {
+
+    @Param({"20", "500"})
+    private int rowCount;
+
+    private final LessonProgramMapper lessonProgramMapper =
+            new LessonProgramMapper(new LessonMapper(), new EducationTermMapper());
+    private final UserMapper userMapper = new UserMapper(lessonProgramMapper);
+    private final StudentInfoMapper studentInfoMapper = new StudentInfoMapper(userMapper);
+
+    private List<User> students;
+    private List<StudentRequest> studentRequests;
+    private List<StudentInfo> studentInfos;
+    private List<LessonProgram> lessonPrograms;
+
+    @Setup
+    public void setUp() {
+        UserRole studentRole = new UserRole();
+        studentRole.setRoleType(RoleType.STUDENT);
+        studentRole.setRoleName("Student");
+
+        EducationTerm educationTerm = EducationTerm.builder()
+                .id(1L)
+                .term(Term.FALL_SEMESTER)
+                .startDate(LocalDate.of(2027, 9, 1))
+                .endDate(LocalDate.of(2028, 1, 15))
+                .lastRegistrationDate(LocalDate.of(2027, 8, 20))
+                .build();
+        Set<Lesson> lessons = new HashSet<>();
+        for (long i = 0; i < 3; i++) {
+            lessons.add(Lesson.builder().lessonId(i).lessonName("Lesson" + i).creditScore(4).isCompulsory(true).build());
+        }
+
+        students = new ArrayList<>(rowCount);
+        studentRequests = new ArrayList<>(rowCount);
+        studentInfos = new ArrayList<>(rowCount);
+        lessonPrograms = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            User student = User.builder()
+                    .id((long) i)
+                    .username("student" + i)
+                    .name("Name" + i)
+                    .surname("Surname" + i)
+                    .birthDay(LocalDate.of(2005, 1, 1))
+                    .birthPlace("Izmir")
+                    .ssn(String.format("223-45-%04d", i))
+                    .phoneNumber(String.format("555-555-%04d", i))
+                    .email("student" + i + "@mail.com")
+                    .gender(Gender.FEMALE)
+                    .motherName("Mother")
+                    .fatherName("Father")
+                    .studentNumber(1000 + i)
+                    .isActive(true)
+                    .userRole(studentRole)
+                    .lessonProgramList(Collections.emptySet())
+                    .build();
+            students.add(student);
+
+            studentRequests.add(StudentRequest.builder()
+                    .username(student.getUsername())
+                    .name(student.getName())
+                    .surname(student.getSurname())
+                    .birthDay(student.getBirthDay())
+                    .birthPlace(student.getBirthPlace())
+                    .ssn(student.getSsn())
+                    .phoneNumber(student.getPhoneNumber())
+                    .email(student.getEmail())
+                    .gender(student.getGender())
+                    .password("12345678")
+                    .motherName(student.getMotherName())
+                    .fatherName(student.getFatherName())
+                    .advisorTeacherId(1L)
+                    .build());
+
+            Lesson lesson = lessons.iterator().next();
+            studentInfos.add(StudentInfo.builder()
+                    .id((long) i)
+                    .midtermExam(70.0)
+                    .finalExam(80.0)
+                    .examAverage(76.0)
+                    .absentee(2)
+                    .infoNote("benchmark info note")
+                    .letterGrade(Note.BA)
+                    .student(student)
+                    .lesson(lesson)
+                    .educationTerm(educationTerm)
+                    .build());
+
+            LocalTime start = LocalTime.of(8, 0).plusMinutes(i % 60);
+            lessonPrograms.add(LessonProgram.builder()
+                    .id((long) i)
+                    .day(Day.values()[i % 7])
+                    .startTime(start)
+                    .stopTime(start.plusMinutes(45))
+                    .lessons(lessons)
+                    .educationTerm(educationTerm)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public List<UserResponse> mapUserToUserResponse() {
+        List<UserResponse> responses = new ArrayList<>(rowCount);
+        for (User student : students) {
+            responses.add(userMapper.mapUserToUserResponse(student));
+        }
+        return responses;
+    }
+
+    @Benchmark
+    public List<StudentResponse> mapUserToStudentResponse() {
+        List<StudentResponse> responses = new ArrayList<>(rowCount);
+        for (User student : students) {
+            responses.add(userMapper.mapUserToStudentResponse(student));
+        }
+        return responses;
+    }
+
+    @Benchmark
+    public List<User> mapStudentRequestToUser() {
+        List<User> users = new ArrayList<>(rowCount);
+        for (StudentRequest studentRequest : studentRequests) {
+            users.add(userMapper.mapStudentRequestToUser(studentRequest));
+        }
+        return users;
+    }
+
+    @Benchmark
+    public List<StudentInfoResponse> mapStudentInfoToStudentInfoResponse() {
+        List<StudentInfoResponse> responses = new ArrayList<>(rowCount);
+        for (StudentInfo studentInfo : studentInfos) {
+            responses.add(studentInfoMapper.mapStudentInfoToStudentInfoResponse(studentInfo));
+        }
+        return responses;
+    }
+
+    @Benchmark
+    public List<LessonProgramResponse> mapLessonProgramToLessonProgramResponse() {
+        List<LessonProgramResponse> responses = new ArrayList<>(rowCount);
+        for (LessonProgram lessonProgram : lessonPrograms) {
+            responses.add(lessonProgramMapper.mapLessonProgramToLessonProgramResponse(lessonProgram));
+        }
+        return responses;
+    }
+}
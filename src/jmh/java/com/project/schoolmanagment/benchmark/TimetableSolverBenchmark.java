@@ -0,0 +1,72 @@
+package com.project.schoolmanagment.benchmark;
+
+import com.project.schoolmanagment.entity.enums.Day;
+import com.project.schoolmanagment.service.solver.TimetableSolver;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+//one term of a school, every lesson is offered in a few sections spread over the week
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TimetableSolverBenchmark {
+
+    private static final int LESSON_COUNT = 24;
+    private static final int COMPULSORY_LESSON_COUNT = 10;
+    private static final int SECTIONS_PER_LESSON = 3;
+    private static final int TEACHER_COUNT = 40;
+    private static final int MIN_CREDITS = 60;
+
+    //five school days of 8 one hour slots
+    private static final Day[] SCHOOL_DAYS = {Day.MONDAY, Day.TUESDAY, Day.WEDNESDAY, Day.THURSDAY, Day.FRIDAY};
+    private static final int SLOTS_PER_DAY = 8;
+
+    @Param({"200", "2000"})
+    private int studentCount;
+
+    private final TimetableSolver timetableSolver = new TimetableSolver();
+
+    private TimetableSolver.Problem problem;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+
+        List<TimetableSolver.Program> programs = new ArrayList<>();
+        for (long lessonId = 1; lessonId <= LESSON_COUNT; lessonId++) {
+            TimetableSolver.ProgramLesson lesson = new TimetableSolver.ProgramLesson(
+                    lessonId, 2 + random.nextInt(5), lessonId <= COMPULSORY_LESSON_COUNT);
+            for (int section = 0; section < SECTIONS_PER_LESSON; section++) {
+                LocalTime start = LocalTime.of(8, 0).plusHours(random.nextInt(SLOTS_PER_DAY));
+                programs.add(new TimetableSolver.Program((long) programs.size() + 1,
+                        SCHOOL_DAYS[random.nextInt(SCHOOL_DAYS.length)], start, start.plusHours(1),
+                        true, Collections.singletonList(lesson)));
+            }
+        }
+
+        List<TimetableSolver.Participant> teachers = new ArrayList<>();
+        for (long id = 1; id <= TEACHER_COUNT; id++) {
+            teachers.add(new TimetableSolver.Participant(id, new HashSet<>()));
+        }
+
+        //a third of the students picked a program by hand already
+        List<TimetableSolver.Participant> students = new ArrayList<>();
+        for (long id = 1; id <= studentCount; id++) {
+            Set<Long> lessonProgramIds = new HashSet<>();
+            if (random.nextInt(3) == 0) {
+                lessonProgramIds.add(1L + random.nextInt(programs.size()));
+            }
+            students.add(new TimetableSolver.Participant(TEACHER_COUNT + id, lessonProgramIds));
+        }
+
+        problem = new TimetableSolver.Problem(programs, teachers, students, MIN_CREDITS);
+    }
+
+    @Benchmark
+    public TimetableSolver.Solution solve() {
+        return timetableSolver.solve(problem);
+    }
+}
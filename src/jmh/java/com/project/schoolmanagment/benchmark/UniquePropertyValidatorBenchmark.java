@@ -0,0 +1,103 @@
+package com.project.schoolmanagment.benchmark;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Uniqueness check of a new user that conflicts with nobody, the common case of a registration.
+ * The cost is in the round trips, so both versions run the sql Hibernate generates for them
+ * over plain JDBC against an embedded Postgres, the table has the unique indexes of t_user.
+ * oldValidator: existsByUsername, existsByEmail, existsBySsn, existsByPhoneNumber one after another.
+ * newValidator: the single findUniqueFieldsIn query of UniquePropertyValidator.checkDuplicate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UniquePropertyValidatorBenchmark {
+
+    private static final String[] EXISTS_QUERIES = {
+            "select u.id from t_user u where u.username=? limit 1",
+            "select u.id from t_user u where u.email=? limit 1",
+            "select u.id from t_user u where u.ssn=? limit 1",
+            "select u.id from t_user u where u.phone_number=? limit 1"};
+
+    private static final String UNIQUE_FIELDS_QUERY = "select u.username, u.ssn, u.phone_number, u.email from t_user u " +
+            "where u.username in (?) or u.ssn in (?) or u.phone_number in (?) or u.email in (?)";
+
+    @Param({"1000", "100000"})
+    private int userCount;
+
+    private EmbeddedPostgres postgres;
+
+    private Connection connection;
+
+    private PreparedStatement[] existsStatements;
+
+    private PreparedStatement uniqueFieldsStatement;
+
+    //values of the user being registered, not taken by anybody
+    private final String username = "newstudent";
+    private final String email = "newstudent@school.com";
+    private final String ssn = "899-99-9999";
+    private final String phoneNumber = "899-999-9999";
+
+    @Setup
+    public void setUp() throws IOException, SQLException {
+        postgres = EmbeddedPostgres.builder().start();
+        connection = postgres.getPostgresDatabase().getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table t_user (id bigserial primary key, " +
+                    "username varchar(255) unique, email varchar(255) unique, " +
+                    "ssn varchar(255) unique, phone_number varchar(255) unique)");
+            statement.execute("insert into t_user (username, email, ssn, phone_number) " +
+                    "select 'user' || i, 'user' || i || '@school.com', " +
+                    "lpad(i::text, 9, '0'), lpad(i::text, 10, '0') from generate_series(1, " + userCount + ") i");
+            statement.execute("analyze t_user");
+        }
+        //Hibernate reuses the prepared statements of a connection as well
+        existsStatements = new PreparedStatement[EXISTS_QUERIES.length];
+        for (int i = 0; i < EXISTS_QUERIES.length; i++) {
+            existsStatements[i] = connection.prepareStatement(EXISTS_QUERIES[i]);
+        }
+        uniqueFieldsStatement = connection.prepareStatement(UNIQUE_FIELDS_QUERY);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException, SQLException {
+        connection.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public boolean oldValidator() throws SQLException {
+        String[] values = {username, email, ssn, phoneNumber};
+        for (int i = 0; i < existsStatements.length; i++) {
+            existsStatements[i].setString(1, values[i]);
+            try (ResultSet resultSet = existsStatements[i].executeQuery()) {
+                if (resultSet.next()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Benchmark
+    public boolean newValidator() throws SQLException {
+        uniqueFieldsStatement.setString(1, username);
+        uniqueFieldsStatement.setString(2, ssn);
+        uniqueFieldsStatement.setString(3, phoneNumber);
+        uniqueFieldsStatement.setString(4, email);
+        try (ResultSet resultSet = uniqueFieldsStatement.executeQuery()) {
+            return resultSet.next();
+        }
+    }
+}
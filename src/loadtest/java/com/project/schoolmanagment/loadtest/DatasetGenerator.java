@@ -0,0 +1,276 @@
+package com.project.schoolmanagment.loadtest;
+
+import com.project.schoolmanagment.entity.enums.Day;
+import com.project.schoolmanagment.entity.enums.Gender;
+import com.project.schoolmanagment.entity.enums.Note;
+import com.project.schoolmanagment.entity.enums.RoleType;
+import com.project.schoolmanagment.entity.enums.Term;
+import com.project.schoolmanagment.service.helper.GradeCalculator;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Writes a synthetic school straight into the schema the application created at startup.
+ * Plain jdbc batches instead of the REST API, so seeding thousands of users does not pay
+ * one BCrypt hash per user. The same seed always produces the same rows.
+ */
+public class DatasetGenerator {
+
+    public static final String PASSWORD = "12345678";
+
+    private static final String TEACHER_PREFIX = "lt_teacher_";
+    private static final String STUDENT_PREFIX = "lt_student_";
+    private static final Day[] WEEK_DAYS = {Day.MONDAY, Day.TUESDAY, Day.WEDNESDAY, Day.THURSDAY, Day.FRIDAY};
+
+    private final LoadTestOptions options;
+    private final Random random;
+    private final GradeCalculator gradeCalculator = new GradeCalculator();
+
+    //ssn, phone number and email have to be unique over all generated users
+    private int userSequence;
+
+    public DatasetGenerator(LoadTestOptions options) {
+        this.options = options;
+        this.random = new Random(options.getSeed());
+        //same weights as application.properties
+        setField(gradeCalculator, "midtermExamPercentage", 0.40);
+        setField(gradeCalculator, "finalExamPercentage", 0.60);
+    }
+
+    public SeededDataset seed(String jdbcUrl, String user, String password) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(jdbcUrl, user, password)) {
+            if (exists(connection)) {
+                throw new IllegalStateException("A load test dataset already exists, "
+                        + "the write scenarios need a fresh database");
+            }
+            connection.setAutoCommit(false);
+            SeededDataset dataset = new SeededDataset();
+            Map<RoleType, Long> roleIds = loadRoleIds(connection);
+            String passwordHash = new BCryptPasswordEncoder().encode(PASSWORD);
+
+            insertTerms(connection, dataset);
+            insertLessons(connection, dataset);
+            List<Long> lessonProgramIds = insertLessonPrograms(connection, dataset);
+            insertTeachers(connection, dataset, roleIds.get(RoleType.TEACHER), passwordHash);
+            insertStudents(connection, dataset, roleIds.get(RoleType.STUDENT), passwordHash);
+            assignLessonPrograms(connection, dataset, lessonProgramIds);
+            insertGrades(connection, dataset);
+
+            connection.commit();
+            return dataset;
+        }
+    }
+
+    private boolean exists(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT 1 FROM t_user WHERE username = ?")) {
+            statement.setString(1, TEACHER_PREFIX + 0);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next();
+            }
+        }
+    }
+
+    private Map<RoleType, Long> loadRoleIds(Connection connection) throws SQLException {
+        Map<RoleType, Long> roleIds = new EnumMap<>(RoleType.class);
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT id, role_type FROM roles")) {
+            while (resultSet.next()) {
+                roleIds.put(RoleType.valueOf(resultSet.getString("role_type")), resultSet.getLong("id"));
+            }
+        }
+        return roleIds;
+    }
+
+    private void insertTerms(Connection connection, SeededDataset dataset) throws SQLException {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < options.getTerms(); i++) {
+            boolean fall = i % 2 == 0;
+            int year = 2030 + i / 2;
+            LocalDate startDate = fall ? LocalDate.of(year, 9, 1) : LocalDate.of(year + 1, 2, 1);
+            rows.add(new Object[]{fall ? Term.FALL_SEMESTER.name() : Term.SPRING_SEMESTER.name(),
+                    Date.valueOf(startDate), Date.valueOf(startDate.plusMonths(4)),
+                    Date.valueOf(startDate.minusDays(10))});
+        }
+        dataset.getTermIds().addAll(insert(connection,
+                "INSERT INTO education_term (term, start_date, end_date, last_registration_date) VALUES (?, ?, ?, ?)",
+                "id", rows));
+    }
+
+    private void insertLessons(Connection connection, SeededDataset dataset) throws SQLException {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < options.getLessons(); i++) {
+            rows.add(new Object[]{"LT Lesson " + i, 1 + random.nextInt(5), i % 2 == 0});
+        }
+        List<Long> lessonIds = insert(connection,
+                "INSERT INTO lesson (lesson_name, credit_score, is_compulsory) VALUES (?, ?, ?)", "lesson_id", rows);
+        int graded = lessonIds.size() / 2;
+        dataset.getGradedLessonIds().addAll(lessonIds.subList(0, graded));
+        dataset.getUngradedLessonIds().addAll(lessonIds.subList(graded, lessonIds.size()));
+    }
+
+    private List<Long> insertLessonPrograms(Connection connection, SeededDataset dataset) throws SQLException {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < options.getLessonPrograms(); i++) {
+            LocalTime startTime = LocalTime.of(8 + random.nextInt(8), 0);
+            rows.add(new Object[]{WEEK_DAYS[random.nextInt(WEEK_DAYS.length)].name(),
+                    Time.valueOf(startTime), Time.valueOf(startTime.plusMinutes(50)),
+                    pick(dataset.getTermIds())});
+        }
+        List<Long> lessonProgramIds = insert(connection,
+                "INSERT INTO lesson_program (day, start_time, stop_time, education_term_id) VALUES (?, ?, ?, ?)",
+                "id", rows);
+
+        List<Long> allLessonIds = new ArrayList<>(dataset.getGradedLessonIds());
+        allLessonIds.addAll(dataset.getUngradedLessonIds());
+        List<Object[]> links = new ArrayList<>();
+        for (Long lessonProgramId : lessonProgramIds) {
+            for (Long lessonId : pickDistinct(allLessonIds, 1 + random.nextInt(2))) {
+                links.add(new Object[]{lessonProgramId, lessonId});
+            }
+        }
+        insert(connection, "INSERT INTO lesson_program_lesson (lessonprogram_id, lesson_id) VALUES (?, ?)", null, links);
+        dataset.setLessonProgramCount(lessonProgramIds.size());
+        return lessonProgramIds;
+    }
+
+    private void insertTeachers(Connection connection, SeededDataset dataset, Long roleId, String passwordHash)
+            throws SQLException {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < options.getTeachers(); i++) {
+            String username = TEACHER_PREFIX + i;
+            rows.add(userRow(username, "Teacher", LocalDate.of(1980, 1, 1).plusDays(i), passwordHash, roleId,
+                    true, null, null));
+            dataset.getTeacherUsernames().add(username);
+        }
+        dataset.getTeacherIds().addAll(insertUsers(connection, rows, false));
+    }
+
+    private void insertStudents(Connection connection, SeededDataset dataset, Long roleId, String passwordHash)
+            throws SQLException {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < options.getStudents(); i++) {
+            String username = STUDENT_PREFIX + i;
+            Long advisorTeacherId = dataset.getTeacherIds().get(i % dataset.getTeacherIds().size());
+            rows.add(userRow(username, "Student", LocalDate.of(2005, 1, 1).plusDays(i % 1000), passwordHash, roleId,
+                    false, advisorTeacherId, "Mother"));
+            dataset.getStudentUsernames().add(username);
+        }
+        dataset.getStudentIds().addAll(insertUsers(connection, rows, true));
+    }
+
+    private Object[] userRow(String username, String name, LocalDate birthDay, String passwordHash, Long roleId,
+                             boolean advisor, Long advisorTeacherId, String motherName) {
+        int sequence = userSequence++;
+        return new Object[]{username, name, "Loadtest", Date.valueOf(birthDay), "Izmir",
+                String.format("%03d-%02d-%04d", 800 + sequence / 1_000_000, sequence / 10_000 % 100, sequence % 10_000),
+                String.format("%03d-%03d-%04d", 800 + sequence / 10_000_000, sequence / 10_000 % 1000, sequence % 10_000),
+                username + "@loadtest.local", (sequence % 2 == 0 ? Gender.FEMALE : Gender.MALE).name(),
+                passwordHash, roleId, advisor, advisorTeacherId, motherName, motherName == null ? null : "Father"};
+    }
+
+    //students take their numbers from the sequence of StudentNumberAllocator
+    private List<Long> insertUsers(Connection connection, List<Object[]> rows, boolean students) throws SQLException {
+        return insert(connection,
+                "INSERT INTO t_user (username, name, surname, birth_day, birth_place, ssn, phone_number, email, " +
+                "gender, password, user_role_id, is_advisor, advisor_teacher_id, mother_name, father_name, " +
+                "built_in, is_active, student_number) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, false, true, " +
+                (students ? "nextval('student_number_seq')" : "0") + ")",
+                "id", rows);
+    }
+
+    private void assignLessonPrograms(Connection connection, SeededDataset dataset, List<Long> lessonProgramIds)
+            throws SQLException {
+        List<Long> userIds = new ArrayList<>(dataset.getTeacherIds());
+        userIds.addAll(dataset.getStudentIds());
+        List<Object[]> links = new ArrayList<>();
+        for (Long userId : userIds) {
+            for (Long lessonProgramId : pickDistinct(lessonProgramIds, Math.min(2, lessonProgramIds.size()))) {
+                links.add(new Object[]{userId, lessonProgramId});
+            }
+        }
+        insert(connection, "INSERT INTO user_lesson_program (user_id, lesson_program_id) VALUES (?, ?)", null, links);
+    }
+
+    private void insertGrades(Connection connection, SeededDataset dataset) throws SQLException {
+        int gradesPerStudent = Math.min(options.getGradesPerStudent(), dataset.getGradedLessonIds().size());
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < dataset.getStudentIds().size(); i++) {
+            Long teacherId = dataset.getTeacherIds().get(i % dataset.getTeacherIds().size());
+            for (Long lessonId : pickDistinct(dataset.getGradedLessonIds(), gradesPerStudent)) {
+                double midtermExam = random.nextInt(101);
+                double finalExam = random.nextInt(101);
+                Double average = gradeCalculator.calculateAverageNote(midtermExam, finalExam);
+                Note note = gradeCalculator.checkLetterGrade(average);
+                rows.add(new Object[]{random.nextInt(5), midtermExam, finalExam, average, "generated grade",
+                        note.name(), pick(dataset.getTermIds()), lessonId, dataset.getStudentIds().get(i), teacherId});
+            }
+        }
+        insert(connection,
+                "INSERT INTO student_info (absentee, midterm_exam, final_exam, exam_average, info_note, letter_grade, " +
+                "education_term_id, lesson_lesson_id, student_id, teacher_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                null, rows);
+        dataset.setStudentInfoCount(rows.size());
+    }
+
+    //one jdbc batch per 1000 rows, returns the generated ids when idColumn is given
+    private List<Long> insert(Connection connection, String sql, String idColumn, List<Object[]> rows)
+            throws SQLException {
+        List<Long> ids = new ArrayList<>(rows.size());
+        try (PreparedStatement statement = idColumn == null
+                ? connection.prepareStatement(sql)
+                : connection.prepareStatement(sql, new String[]{idColumn})) {
+            for (int from = 0; from < rows.size(); from += 1000) {
+                for (Object[] row : rows.subList(from, Math.min(from + 1000, rows.size()))) {
+                    for (int i = 0; i < row.length; i++) {
+                        statement.setObject(i + 1, row[i]);
+                    }
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                if (idColumn != null) {
+                    try (ResultSet keys = statement.getGeneratedKeys()) {
+                        while (keys.next()) {
+                            ids.add(keys.getLong(1));
+                        }
+                    }
+                }
+            }
+        }
+        return ids;
+    }
+
+    private Long pick(List<Long> ids) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private List<Long> pickDistinct(List<Long> ids, int count) {
+        List<Long> shuffled = new ArrayList<>(ids);
+        Collections.shuffle(shuffled, random);
+        return shuffled.subList(0, Math.min(count, shuffled.size()));
+    }
+
+    private static void setField(Object target, String fieldName, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), fieldName);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+}
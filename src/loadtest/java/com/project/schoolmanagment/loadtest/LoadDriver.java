@@ -0,0 +1,62 @@
+package com.project.schoolmanagment.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+//closed loop driver: concurrency threads send the calls of a scenario back to back
+public class LoadDriver {
+
+    private final LoadTestClient client;
+    private final int concurrency;
+
+    public LoadDriver(LoadTestClient client, int concurrency) {
+        this.client = client;
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * @param sequence shared by warmup and measurement, so write scenarios never repeat a call
+     * @param count number of calls
+     * @return latencies of every call, an error is any status from 400 on
+     */
+    public ScenarioResult run(Scenario scenario, AtomicInteger sequence, int count) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        long[] latencies = new long[count];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        AtomicLong responseBytes = new AtomicLong();
+        List<Future<?>> workers = new ArrayList<>();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < concurrency; i++) {
+            workers.add(executor.submit(() -> {
+                int index;
+                while ((index = next.getAndIncrement()) < count) {
+                    LoadTestClient.Call call = scenario.createCall(sequence.getAndIncrement());
+                    long callStart = System.nanoTime();
+                    LoadTestClient.Response response = client.execute(call);
+                    latencies[index] = System.nanoTime() - callStart;
+                    responseBytes.addAndGet(response.getBodyBytes());
+                    if (response.getStatus() >= 400) {
+                        errors.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        try {
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(scenario.getName() + " failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return new ScenarioResult(scenario.getName(), latencies, errors.get(), responseBytes.get(),
+                System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,142 @@
+package com.project.schoolmanagment.loadtest;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+//minimal blocking http client, keep-alive of HttpURLConnection reuses the connections of a thread
+public class LoadTestClient {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final String baseUrl;
+
+    public LoadTestClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public static class Call {
+
+        private final String method;
+        private final String path;
+        private final String token;
+        private final String body;
+
+        public Call(String method, String path, String token, String body) {
+            this.method = method;
+            this.path = path;
+            this.token = token;
+            this.body = body;
+        }
+    }
+
+    public static class Response {
+
+        private final int status;
+        private final String body;
+        private final int bodyBytes;
+
+        Response(int status, String body, int bodyBytes) {
+            this.status = status;
+            this.body = body;
+            this.bodyBytes = bodyBytes;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public String getBody() {
+            return body;
+        }
+
+        public int getBodyBytes() {
+            return bodyBytes;
+        }
+    }
+
+    public Response execute(Call call) {
+        try {
+            HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + call.path).openConnection();
+            connection.setRequestMethod(call.method);
+            connection.setRequestProperty("Accept", "application/json");
+            if (call.token != null) {
+                connection.setRequestProperty("Authorization", "Bearer " + call.token);
+            }
+            if (call.body != null) {
+                connection.setDoOutput(true);
+                connection.setRequestProperty("Content-Type", "application/json");
+                try (OutputStream outputStream = connection.getOutputStream()) {
+                    outputStream.write(call.body.getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            int status = connection.getResponseCode();
+            //the body has to be read to the end, otherwise the connection is not reused
+            InputStream inputStream = status >= 400 ? connection.getErrorStream() : connection.getInputStream();
+            byte[] body = inputStream == null ? new byte[0] : readFully(inputStream);
+            return new Response(status, new String(body, StandardCharsets.UTF_8), body.length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(call.method + " " + call.path + " failed", e);
+        }
+    }
+
+    public String login(String username, String password) {
+        Map<String, String> credentials = new HashMap<>();
+        credentials.put("username", username);
+        credentials.put("password", password);
+        Response response = execute(new Call("POST", "/auth/login", null, toJson(credentials)));
+        if (response.getStatus() != 200) {
+            throw new IllegalStateException("Login of " + username + " failed: " + response.getBody());
+        }
+        return (String) fromJson(response.getBody(), new TypeReference<Map<String, Object>>() { }).get("token");
+    }
+
+    //latency and statement counts the application recorded per endpoint
+    public List<Map<String, Object>> getRequestMetrics(String adminToken) {
+        Response response = execute(new Call("GET", "/metrics/requests", adminToken, null));
+        return fromJson(response.getBody(), new TypeReference<List<Map<String, Object>>>() { });
+    }
+
+    public void resetMetrics(String adminToken) {
+        execute(new Call("DELETE", "/metrics/reset", adminToken, null));
+    }
+
+    public static String toJson(Object value) {
+        try {
+            return OBJECT_MAPPER.writeValueAsString(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static <T> T fromJson(String json, TypeReference<T> type) {
+        try {
+            return OBJECT_MAPPER.readValue(json, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] readFully(InputStream inputStream) throws IOException {
+        try (InputStream in = inputStream) {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            byte[] chunk = new byte[8192];
+            int read;
+            while ((read = in.read(chunk)) != -1) {
+                buffer.write(chunk, 0, read);
+            }
+            return buffer.toByteArray();
+        }
+    }
+}
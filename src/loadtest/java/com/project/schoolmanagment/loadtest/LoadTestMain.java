@@ -0,0 +1,112 @@
+package com.project.schoolmanagment.loadtest;
+
+import com.project.schoolmanagment.SchoolManagementApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * End to end load test: seeds a synthetic school, drives the selected endpoints over http
+ * and reports client side latency next to the statements per request the application counted.
+ * <p>
+ * mvn -Ploadtest test-compile exec:exec -Dloadtest.args="students=2000 requests=500"
+ * <p>
+ * Without baseUrl an embedded Postgres and the application are started in process, so every run
+ * starts from the same empty database. Against a running application baseUrl and jdbcUrl are required.
+ */
+public class LoadTestMain {
+
+    private static final String ADMIN_USERNAME = "superAdmin";
+    private static final String ADMIN_PASSWORD = "12345678";
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        EmbeddedPostgres postgres = null;
+        ConfigurableApplicationContext application = null;
+        try {
+            String baseUrl = options.getBaseUrl();
+            String jdbcUrl = options.getJdbcUrl();
+            String jdbcUser = options.getJdbcUser();
+            String jdbcPassword = options.getJdbcPassword();
+
+            if (baseUrl == null) {
+                postgres = EmbeddedPostgres.builder().start();
+                jdbcUrl = postgres.getJdbcUrl("postgres", "postgres");
+                jdbcUser = "postgres";
+                jdbcPassword = "";
+                application = startApplication(options.getPort(), jdbcUrl);
+                baseUrl = "http://localhost:" + options.getPort();
+            } else if (jdbcUrl == null) {
+                throw new IllegalArgumentException("jdbcUrl is required together with baseUrl");
+            }
+
+            long seedStart = System.nanoTime();
+            SeededDataset dataset = new DatasetGenerator(options).seed(jdbcUrl, jdbcUser, jdbcPassword);
+            LoadTestClient client = new LoadTestClient(baseUrl);
+            String adminToken = client.login(ADMIN_USERNAME, ADMIN_PASSWORD);
+            //grades were written around the application, the gpa totals have to catch up
+            client.execute(new LoadTestClient.Call("POST", "/transcript/rebuild", adminToken, null));
+            System.out.printf("Seeded %d students, %d teachers, %d grades in %d ms%n",
+                    dataset.getStudentIds().size(), dataset.getTeacherIds().size(), dataset.getStudentInfoCount(),
+                    (System.nanoTime() - seedStart) / 1_000_000);
+
+            String teacherToken = client.login(dataset.getTeacherUsernames().get(0), DatasetGenerator.PASSWORD);
+            LoadTestScenarios scenarios = new LoadTestScenarios(dataset, options, adminToken, teacherToken);
+            LoadDriver driver = new LoadDriver(client, options.getConcurrency());
+
+            List<ScenarioResult> results = new ArrayList<>();
+            for (String name : options.getScenarios()) {
+                Scenario scenario = scenarios.create(name);
+                AtomicInteger sequence = new AtomicInteger();
+                driver.run(scenario, sequence, options.getWarmup());
+                client.resetMetrics(adminToken);
+                ScenarioResult result = driver.run(scenario, sequence, options.getRequests());
+                result.setQueriesPerRequest(getMeanQueries(client.getRequestMetrics(adminToken), scenario.getMetricsKey()));
+                results.add(result);
+            }
+
+            LoadTestReport report = new LoadTestReport(results);
+            report.print(System.out, LoadTestReport.readBaseline(options.getBaseline()));
+            report.write(options.getReport());
+            System.out.println("Report written to " + options.getReport());
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+            if (postgres != null) {
+                postgres.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(int port, String jdbcUrl) {
+        //a restart class loader would start the application twice
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        return SpringApplication.run(SchoolManagementApplication.class,
+                "--server.port=" + port,
+                "--spring.datasource.url=" + jdbcUrl,
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=",
+                "--spring.jpa.show-sql=false",
+                "--logging.file.name=target/loadtest/application.log",
+                "--logging.level.root=WARN",
+                "--logging.level.com.project=WARN",
+                //anonymous login calls would log a missing token each
+                "--logging.level.com.project.schoolmanagment.security.jwt=OFF",
+                "--logging.level.org.apache.catalina.loader=ERROR");
+    }
+
+    private static Double getMeanQueries(List<Map<String, Object>> metrics, String metricsKey) {
+        for (Map<String, Object> endpoint : metrics) {
+            if (metricsKey.equals(endpoint.get("name"))) {
+                return ((Number) endpoint.get("meanQueries")).doubleValue();
+            }
+        }
+        return null;
+    }
+}
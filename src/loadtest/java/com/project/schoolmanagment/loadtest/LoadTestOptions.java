@@ -0,0 +1,117 @@
+package com.project.schoolmanagment.loadtest;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * key=value arguments of the load test, every key has a default.
+ * Without baseUrl an embedded Postgres and the application are started in process.
+ */
+public class LoadTestOptions {
+
+    private final Map<String, String> values = new HashMap<>();
+
+    public static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Arguments are key=value, got " + arg);
+            }
+            options.values.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    //running application to test, null starts one in process
+    public String getBaseUrl() {
+        return values.get("baseUrl");
+    }
+
+    //database the dataset is written to, required together with baseUrl
+    public String getJdbcUrl() {
+        return values.get("jdbcUrl");
+    }
+
+    public String getJdbcUser() {
+        return getString("jdbcUser", "postgres");
+    }
+
+    public String getJdbcPassword() {
+        return getString("jdbcPassword", "");
+    }
+
+    //port of the in process application
+    public int getPort() {
+        return getInt("port", 18181);
+    }
+
+    public int getTerms() {
+        return getInt("terms", 2);
+    }
+
+    public int getLessons() {
+        return getInt("lessons", 20);
+    }
+
+    public int getTeachers() {
+        return getInt("teachers", 10);
+    }
+
+    public int getStudents() {
+        return getInt("students", 500);
+    }
+
+    public int getLessonPrograms() {
+        return getInt("lessonPrograms", 30);
+    }
+
+    //grades are given for the first half of the lessons, the other half is left for /studentInfo/save
+    public int getGradesPerStudent() {
+        return getInt("gradesPerStudent", 5);
+    }
+
+    public int getRequests() {
+        return getInt("requests", 200);
+    }
+
+    public int getWarmup() {
+        return getInt("warmup", 20);
+    }
+
+    public int getConcurrency() {
+        return getInt("concurrency", 4);
+    }
+
+    public int getPageSize() {
+        return getInt("pageSize", 20);
+    }
+
+    public long getSeed() {
+        return Long.parseLong(getString("seed", "42"));
+    }
+
+    public List<String> getScenarios() {
+        return Arrays.asList(getString("scenarios",
+                "login,studentInfoSave,meetSave,studentInfoPage,userPage,userGet,lessonProgramPage,lessonPage").split(","));
+    }
+
+    public String getReport() {
+        return getString("report", "target/loadtest/report.csv");
+    }
+
+    //report of an earlier run to compare with, optional
+    public String getBaseline() {
+        return values.get("baseline");
+    }
+
+    private String getString(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    private int getInt(String key, int defaultValue) {
+        return values.containsKey(key) ? Integer.parseInt(values.get(key)) : defaultValue;
+    }
+}
@@ -0,0 +1,108 @@
+package com.project.schoolmanagment.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * Prints the results and writes them as csv. A report written by an earlier run can be passed
+ * as baseline, p50, p99 and queries per request are then printed as change against it.
+ */
+public class LoadTestReport {
+
+    private static final String HEADER = "scenario,requests,errors,throughput,p50Ms,p99Ms,meanMs,queriesPerRequest,meanBytes";
+
+    private final List<ScenarioResult> results;
+
+    public LoadTestReport(List<ScenarioResult> results) {
+        this.results = results;
+    }
+
+    public void print(PrintStream out, Map<String, String[]> baseline) {
+        out.printf("%-20s %8s %7s %9s %9s %9s %9s %9s %10s%n",
+                "scenario", "requests", "errors", "req/s", "p50 ms", "p99 ms", "mean ms", "queries", "bytes");
+        for (ScenarioResult result : results) {
+            out.printf(Locale.ROOT, "%-20s %8d %7d %9.1f %9.2f %9.2f %9.2f %9s %10.0f%n",
+                    result.getName(), result.getRequests(), result.getErrors(), result.getThroughput(),
+                    result.getPercentileMs(50), result.getPercentileMs(99), result.getMeanMs(),
+                    result.getQueriesPerRequest() == null ? "-" : format(result.getQueriesPerRequest()),
+                    result.getMeanResponseBytes());
+        }
+
+        if (baseline.isEmpty()) {
+            return;
+        }
+        out.println();
+        out.printf("%-20s %10s %10s %10s %10s%n", "vs baseline", "p50", "p99", "queries", "bytes");
+        for (ScenarioResult result : results) {
+            String[] previous = baseline.get(result.getName());
+            if (previous == null) {
+                out.printf("%-20s %10s%n", result.getName(), "new");
+                continue;
+            }
+            out.printf("%-20s %10s %10s %10s %10s%n", result.getName(),
+                    change(parse(previous[4]), result.getPercentileMs(50)),
+                    change(parse(previous[5]), result.getPercentileMs(99)),
+                    change(parse(previous[7]), result.getQueriesPerRequest()),
+                    //reports written before the payload column have one column less
+                    change(previous.length > 8 ? parse(previous[8]) : null, result.getMeanResponseBytes()));
+        }
+    }
+
+    public void write(String report) throws IOException {
+        Path path = Paths.get(report);
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        List<String> lines = new ArrayList<>();
+        lines.add(HEADER);
+        for (ScenarioResult result : results) {
+            lines.add(String.join(",", result.getName(),
+                    String.valueOf(result.getRequests()),
+                    String.valueOf(result.getErrors()),
+                    format(result.getThroughput()),
+                    format(result.getPercentileMs(50)),
+                    format(result.getPercentileMs(99)),
+                    format(result.getMeanMs()),
+                    result.getQueriesPerRequest() == null ? "" : format(result.getQueriesPerRequest()),
+                    format(result.getMeanResponseBytes())));
+        }
+        Files.write(path, lines, StandardCharsets.UTF_8);
+    }
+
+    //scenario -> csv columns of the baseline report, empty if there is none
+    public static Map<String, String[]> readBaseline(String baseline) throws IOException {
+        Map<String, String[]> rows = new HashMap<>();
+        if (baseline == null) {
+            return rows;
+        }
+        List<String> lines = Files.readAllLines(Paths.get(baseline), StandardCharsets.UTF_8);
+        for (String line : lines.subList(Math.min(1, lines.size()), lines.size())) {
+            String[] columns = line.split(",", -1);
+            rows.put(columns[0], columns);
+        }
+        return rows;
+    }
+
+    private static String change(Double previous, Double current) {
+        if (previous == null || current == null) {
+            return "-";
+        }
+        if (previous == 0) {
+            return current == 0 ? "0.0%" : "n/a";
+        }
+        return String.format(Locale.ROOT, "%+.1f%%", (current - previous) / previous * 100);
+    }
+
+    private static Double parse(String value) {
+        return value == null || value.isEmpty() ? null : Double.valueOf(value);
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+}
@@ -0,0 +1,127 @@
+package com.project.schoolmanagment.loadtest;
+
+import java.time.LocalDate;
+import java.util.*;
+
+//builds the scenarios by name, every write scenario targets rows no other call touches
+public class LoadTestScenarios {
+
+    private final SeededDataset dataset;
+    private final LoadTestOptions options;
+    private final String adminToken;
+    private final String teacherToken;
+
+    public LoadTestScenarios(SeededDataset dataset, LoadTestOptions options, String adminToken, String teacherToken) {
+        this.dataset = dataset;
+        this.options = options;
+        this.adminToken = adminToken;
+        this.teacherToken = teacherToken;
+    }
+
+    public Scenario create(String name) {
+        switch (name) {
+            case "login":
+                return login();
+            case "studentInfoSave":
+                return studentInfoSave();
+            case "meetSave":
+                return meetSave();
+            case "meetSuggestSlots":
+                return meetSuggestSlots();
+            case "studentInfoPage":
+                return page(name, "GET /studentInfo/getAllStudentInfoByPage",
+                        "/studentInfo/getAllStudentInfoByPage?sort=id&type=desc", dataset.getStudentInfoCount());
+            case "userPage":
+                return page(name, "GET /user/getAllUserByPage/{userRole}",
+                        "/user/getAllUserByPage/Student?sort=name&type=desc", dataset.getStudentIds().size());
+            case "userGet":
+                return userGet();
+            case "lessonProgramPage":
+                return page(name, "GET /lessonPrograms/getAllByPage",
+                        "/lessonPrograms/getAllByPage?sort=day&type=desc", dataset.getLessonProgramCount());
+            case "lessonPage":
+                return page(name, "GET /lessons/getAllLessonsByPage",
+                        "/lessons/getAllLessonsByPage?sort=lessonName&type=desc",
+                        dataset.getGradedLessonIds().size() + dataset.getUngradedLessonIds().size());
+            default:
+                throw new IllegalArgumentException("Unknown scenario " + name);
+        }
+    }
+
+    private Scenario login() {
+        List<String> usernames = dataset.getStudentUsernames();
+        return new Scenario("login", "POST /auth/login", sequence -> {
+            Map<String, String> body = new HashMap<>();
+            body.put("username", usernames.get(sequence % usernames.size()));
+            body.put("password", DatasetGenerator.PASSWORD);
+            return new LoadTestClient.Call("POST", "/auth/login", null, LoadTestClient.toJson(body));
+        });
+    }
+
+    //student and ungraded lesson pairs are walked in order, so no call is rejected as a duplicate
+    private Scenario studentInfoSave() {
+        List<Long> studentIds = dataset.getStudentIds();
+        List<Long> lessonIds = dataset.getUngradedLessonIds();
+        return new Scenario("studentInfoSave", "POST /studentInfo/save", sequence -> {
+            if (sequence >= studentIds.size() * lessonIds.size()) {
+                throw new IllegalStateException("Not enough ungraded lessons for " + sequence + " grades");
+            }
+            Map<String, Object> body = new HashMap<>();
+            body.put("studentId", studentIds.get(sequence % studentIds.size()));
+            body.put("lessonId", lessonIds.get(sequence / studentIds.size()));
+            body.put("educationTermId", dataset.getTermIds().get(0));
+            body.put("midtermExam", (double) (sequence * 7 % 101));
+            body.put("finalExam", (double) (sequence * 13 % 101));
+            body.put("absentee", sequence % 5);
+            body.put("infoNote", "load test grade " + sequence);
+            return new LoadTestClient.Call("POST", "/studentInfo/save", teacherToken, LoadTestClient.toJson(body));
+        });
+    }
+
+    //one meeting per day, so neither the teacher nor the students ever overlap
+    private Scenario meetSave() {
+        List<Long> studentIds = dataset.getStudentIds();
+        LocalDate firstDay = LocalDate.now().plusDays(1);
+        return new Scenario("meetSave", "POST /meet/save", sequence -> {
+            Map<String, Object> body = new HashMap<>();
+            body.put("description", "load test meeting " + sequence);
+            body.put("date", firstDay.plusDays(sequence).toString());
+            body.put("startTime", "10:00");
+            body.put("stopTime", "10:30");
+            body.put("studentIds", Arrays.asList(studentIds.get(sequence % studentIds.size()),
+                    studentIds.get((sequence + 1) % studentIds.size())));
+            return new LoadTestClient.Call("POST", "/meet/save", teacherToken, LoadTestClient.toJson(body));
+        });
+    }
+
+    //30 students over a month, run after meetSave so there are meetings to sweep around
+    private Scenario meetSuggestSlots() {
+        List<Long> studentIds = dataset.getStudentIds();
+        Long advisorTeacherId = dataset.getTeacherIds().get(0);
+        LocalDate firstDay = LocalDate.now().plusDays(1);
+        return new Scenario("meetSuggestSlots", "GET /meet/suggestSlots", sequence -> {
+            StringJoiner ids = new StringJoiner(",");
+            for (int i = 0; i < 30; i++) {
+                ids.add(String.valueOf(studentIds.get((sequence + i) % studentIds.size())));
+            }
+            return new LoadTestClient.Call("GET", "/meet/suggestSlots?advisorTeacherId=" + advisorTeacherId
+                    + "&studentIds=" + ids + "&startDate=" + firstDay + "&endDate=" + firstDay.plusDays(30)
+                    + "&duration=45&limit=10", teacherToken, null);
+        });
+    }
+
+    //single students, their response embeds the lesson programs
+    private Scenario userGet() {
+        List<Long> studentIds = dataset.getStudentIds();
+        return new Scenario("userGet", "GET /user/getUserById/{userId}", sequence -> new LoadTestClient.Call("GET",
+                "/user/getUserById/" + studentIds.get(sequence % studentIds.size()), adminToken, null));
+    }
+
+    //cycles through every page of the seeded rows
+    private Scenario page(String name, String metricsKey, String path, int rowCount) {
+        int pageSize = options.getPageSize();
+        int pages = Math.max(1, (rowCount + pageSize - 1) / pageSize);
+        return new Scenario(name, metricsKey, sequence -> new LoadTestClient.Call("GET",
+                path + "&page=" + (sequence % pages) + "&size=" + pageSize, adminToken, null));
+    }
+}
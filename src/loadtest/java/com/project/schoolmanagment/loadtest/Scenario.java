@@ -0,0 +1,30 @@
+package com.project.schoolmanagment.loadtest;
+
+import java.util.function.IntFunction;
+
+//one endpoint under load, the n-th call of a run is built from its sequence number
+public class Scenario {
+
+    private final String name;
+    //key of the endpoint in /metrics/requests
+    private final String metricsKey;
+    private final IntFunction<LoadTestClient.Call> callFactory;
+
+    public Scenario(String name, String metricsKey, IntFunction<LoadTestClient.Call> callFactory) {
+        this.name = name;
+        this.metricsKey = metricsKey;
+        this.callFactory = callFactory;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getMetricsKey() {
+        return metricsKey;
+    }
+
+    public LoadTestClient.Call createCall(int sequence) {
+        return callFactory.apply(sequence);
+    }
+}
@@ -0,0 +1,66 @@
+package com.project.schoolmanagment.loadtest;
+
+import java.util.Arrays;
+
+//exact client side latencies of the measured calls of one scenario
+public class ScenarioResult {
+
+    private final String name;
+    private final long[] latenciesNanos;
+    private final int errors;
+    private final long responseBytes;
+    private final long elapsedNanos;
+    //statements per request as seen by the application, null if the endpoint was not recorded
+    private Double queriesPerRequest;
+
+    public ScenarioResult(String name, long[] latenciesNanos, int errors, long responseBytes, long elapsedNanos) {
+        this.name = name;
+        this.latenciesNanos = latenciesNanos.clone();
+        Arrays.sort(this.latenciesNanos);
+        this.errors = errors;
+        this.responseBytes = responseBytes;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getRequests() {
+        return latenciesNanos.length;
+    }
+
+    public int getErrors() {
+        return errors;
+    }
+
+    //payload size, catches responses that start embedding more of the entity graph
+    public double getMeanResponseBytes() {
+        return latenciesNanos.length == 0 ? 0 : (double) responseBytes / latenciesNanos.length;
+    }
+
+    public double getThroughput() {
+        return elapsedNanos == 0 ? 0 : latenciesNanos.length / (elapsedNanos / 1e9);
+    }
+
+    //nearest rank percentile
+    public double getPercentileMs(double percentile) {
+        if (latenciesNanos.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * latenciesNanos.length);
+        return latenciesNanos[Math.max(rank, 1) - 1] / 1e6;
+    }
+
+    public double getMeanMs() {
+        return latenciesNanos.length == 0 ? 0 : Arrays.stream(latenciesNanos).average().orElse(0) / 1e6;
+    }
+
+    public Double getQueriesPerRequest() {
+        return queriesPerRequest;
+    }
+
+    public void setQueriesPerRequest(Double queriesPerRequest) {
+        this.queriesPerRequest = queriesPerRequest;
+    }
+}
@@ -0,0 +1,63 @@
+package com.project.schoolmanagment.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+//ids and usernames of the generated rows the scenarios send requests for
+public class SeededDataset {
+
+    private final List<Long> termIds = new ArrayList<>();
+    private final List<Long> gradedLessonIds = new ArrayList<>();
+    //lessons without any grade, every student can get one with /studentInfo/save
+    private final List<Long> ungradedLessonIds = new ArrayList<>();
+    private final List<Long> teacherIds = new ArrayList<>();
+    private final List<String> teacherUsernames = new ArrayList<>();
+    private final List<Long> studentIds = new ArrayList<>();
+    private final List<String> studentUsernames = new ArrayList<>();
+    private int studentInfoCount;
+    private int lessonProgramCount;
+
+    public List<Long> getTermIds() {
+        return termIds;
+    }
+
+    public List<Long> getGradedLessonIds() {
+        return gradedLessonIds;
+    }
+
+    public List<Long> getUngradedLessonIds() {
+        return ungradedLessonIds;
+    }
+
+    public List<Long> getTeacherIds() {
+        return teacherIds;
+    }
+
+    public List<String> getTeacherUsernames() {
+        return teacherUsernames;
+    }
+
+    public List<Long> getStudentIds() {
+        return studentIds;
+    }
+
+    public List<String> getStudentUsernames() {
+        return studentUsernames;
+    }
+
+    public int getStudentInfoCount() {
+        return studentInfoCount;
+    }
+
+    public void setStudentInfoCount(int studentInfoCount) {
+        this.studentInfoCount = studentInfoCount;
+    }
+
+    public int getLessonProgramCount() {
+        return lessonProgramCount;
+    }
+
+    public void setLessonProgramCount(int lessonProgramCount) {
+        this.lessonProgramCount = lessonProgramCount;
+    }
+}
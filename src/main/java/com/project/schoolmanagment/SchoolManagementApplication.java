@@ -5,8 +5,13 @@ import com.project.schoolmanagment.entity.enums.Gender;
 import com.project.schoolmanagment.entity.enums.RoleType;
 import com.project.schoolmanagment.repository.user.UserRepository;
 import com.project.schoolmanagment.repository.user.UserRoleRepository;
+import com.project.schoolmanagment.service.business.EducationTermService;
+import com.project.schoolmanagment.service.business.LessonService;
+import com.project.schoolmanagment.service.business.TranscriptService;
+import com.project.schoolmanagment.service.helper.StudentNumberAllocator;
 import com.project.schoolmanagment.service.user.UserRoleService;
 import com.project.schoolmanagment.service.user.UserService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
@@ -25,11 +30,26 @@ public class SchoolManagementApplication implements CommandLineRunner { //adds a
 
     private final PasswordEncoder passwordEncoder;
 
-    public SchoolManagementApplication(UserRoleRepository userRoleRepository, UserRepository userRepository, UserRoleService userRoleService, PasswordEncoder passwordEncoder) {
+    private final StudentNumberAllocator studentNumberAllocator;
+
+    private final LessonService lessonService;
+
+    private final EducationTermService educationTermService;
+
+    private final TranscriptService transcriptService;
+
+    @Value("${backendapi.app.referenceCache.warmUp}")
+    private boolean warmUpReferenceCache;
+
+    public SchoolManagementApplication(UserRoleRepository userRoleRepository, UserRepository userRepository, UserRoleService userRoleService, PasswordEncoder passwordEncoder, StudentNumberAllocator studentNumberAllocator, LessonService lessonService, EducationTermService educationTermService, TranscriptService transcriptService) {
         this.userRoleRepository = userRoleRepository;
         this.userRepository = userRepository;
         this.userRoleService = userRoleService;
         this.passwordEncoder = passwordEncoder;
+        this.studentNumberAllocator = studentNumberAllocator;
+        this.lessonService = lessonService;
+        this.educationTermService = educationTermService;
+        this.transcriptService = transcriptService;
     }
 
     public static void main(String[] args) {
@@ -87,6 +107,19 @@ public class SchoolManagementApplication implements CommandLineRunner { //adds a
             userRepository.save(superAdmin);
         }
 
+        //student numbers are taken from a sequence, it has to exist before the first registration
+        studentNumberAllocator.createSequenceIfNotExists();
+
+        //student infos saved before transcripts existed are summed up once
+        transcriptService.backfillIfEmpty();
+
+        //first requests do not pay for loading reference data
+        if(warmUpReferenceCache){
+            userRoleService.warmUpCache();
+            lessonService.warmUpCache();
+            educationTermService.warmUpCache();
+        }
+
 
     }
 }
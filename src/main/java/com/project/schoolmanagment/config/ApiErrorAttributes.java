@@ -0,0 +1,27 @@
+package com.project.schoolmanagment.config;
+
+import com.project.schoolmanagment.exception.MeetConflictException;
+import org.springframework.boot.web.error.ErrorAttributeOptions;
+import org.springframework.boot.web.servlet.error.DefaultErrorAttributes;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Map;
+
+/**
+ * Default error response of Spring Boot (timestamp, status, error, message, path)
+ * plus the details some exceptions carry, so clients do not have to parse them out of the message.
+ */
+@Component
+public class ApiErrorAttributes extends DefaultErrorAttributes {
+
+    @Override
+    public Map<String, Object> getErrorAttributes(WebRequest webRequest, ErrorAttributeOptions options) {
+        Map<String, Object> errorAttributes = super.getErrorAttributes(webRequest, options);
+        Throwable error = getError(webRequest);
+        if (error instanceof MeetConflictException) {
+            errorAttributes.put("conflicts", ((MeetConflictException) error).getConflicts());
+        }
+        return errorAttributes;
+    }
+}
@@ -0,0 +1,125 @@
+package com.project.schoolmanagment.config;
+
+import org.apache.coyote.ProtocolHandler;
+import com.project.schoolmanagment.security.service.ExecutorPasswordEncoder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Threads of the web layer and of the blocking work behind it.
+ * With backendapi.app.threads.virtual=true Tomcat and async requests (exports) run on virtual threads,
+ * which needs Java 21. Blocking JDBC is then bounded by the Hikari pool only,
+ * and the CPU heavy BCrypt work always runs on its own small pool. The caller of a hash waits for it,
+ * so the hashes admitted at once are kept below the Tomcat threads, a login burst gets 429
+ * while the other endpoints still find a free request thread.
+ */
+@Configuration
+public class ExecutionConfig {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExecutionConfig.class);
+
+    public static final String PASSWORD_HASHING_EXECUTOR = "passwordHashingExecutor";
+
+    //null when running on platform threads
+    private final ExecutorService virtualThreadExecutor;
+
+    public ExecutionConfig(@Value("${backendapi.app.threads.virtual}") boolean virtualThreads) {
+        this.virtualThreadExecutor = virtualThreads ? newVirtualThreadExecutor() : null;
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> {
+            if (virtualThreadExecutor != null) {
+                protocolHandler.setExecutor(virtualThreadExecutor);
+            }
+        };
+    }
+
+    //replaces the auto configured one, which backs off as soon as any other executor bean exists
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor(TaskExecutorBuilder builder) {
+        if (virtualThreadExecutor != null) {
+            return new TaskExecutorAdapter(virtualThreadExecutor);
+        }
+        return builder.build();
+    }
+
+    /**
+     * @param poolSize threads hashing and verifying passwords, 0 for one per cpu
+     */
+    @Bean(name = PASSWORD_HASHING_EXECUTOR)
+    public ThreadPoolTaskExecutor passwordHashingExecutor(
+            @Value("${backendapi.app.threads.passwordHashing.poolSize}") int poolSize) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        //unbounded, the encoder admits at most threads + queueCapacity hashes
+        executor.setThreadNamePrefix("password-hashing-");
+        return executor;
+    }
+
+    /**
+     * logins and user saves hash on their own pool instead of on request threads
+     * @param queueCapacity hashes waiting for a thread, further logins are rejected, 0 for two per thread
+     * @param maxRequestThreads Tomcat request threads, each admitted hash holds one of them while it waits
+     * @param strength log2 of the BCrypt rounds, hashes of a lower strength are upgraded at the next login
+     */
+    @Bean
+    public ExecutorPasswordEncoder passwordEncoder(
+            @Qualifier(PASSWORD_HASHING_EXECUTOR) ThreadPoolTaskExecutor executor,
+            @Value("${backendapi.app.threads.passwordHashing.queueCapacity}") int queueCapacity,
+            @Value("${server.tomcat.threads.max:200}") int maxRequestThreads,
+            @Value("${backendapi.app.bcrypt.strength}") int strength) {
+        int threads = executor.getMaxPoolSize();
+        int capacity = queueCapacity > 0 ? queueCapacity : 2 * threads;
+        //virtual threads are not limited by server.tomcat.threads.max
+        if (virtualThreadExecutor == null && threads + capacity >= maxRequestThreads) {
+            throw new IllegalStateException(String.format(
+                    "Password hashing admits %d threads + %d queued hashes, that is not below the %d request "
+                            + "threads: a login burst would block all of them. Lower "
+                            + "backendapi.app.threads.passwordHashing.poolSize or queueCapacity, "
+                            + "or raise server.tomcat.threads.max",
+                    threads, capacity, maxRequestThreads));
+        }
+        return new ExecutorPasswordEncoder(new BCryptPasswordEncoder(strength), executor, threads, capacity);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (virtualThreadExecutor != null) {
+            virtualThreadExecutor.shutdown();
+        }
+    }
+
+    //looked up reflectively, the sources still compile for Java 8
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            ExecutorService executor = (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+            LOGGER.info("Requests run on virtual threads");
+            return executor;
+        } catch (ReflectiveOperationException e) {
+            LOGGER.warn("Virtual threads need Java 21, running on {} with platform threads",
+                    System.getProperty("java.version"));
+            return null;
+        }
+    }
+}
@@ -4,6 +4,7 @@ package com.project.schoolmanagment.controller.business;
 import com.project.schoolmanagment.entity.concretes.business.Lesson;
 import com.project.schoolmanagment.payload.request.business.LessonRequest;
 import com.project.schoolmanagment.payload.response.abstracts.ResponseMessage;
+import com.project.schoolmanagment.payload.response.abstracts.SliceResponse;
 import com.project.schoolmanagment.payload.response.business.EducationTermResponse;
 import com.project.schoolmanagment.payload.response.business.LessonResponse;
 import com.project.schoolmanagment.service.business.LessonService;
@@ -63,6 +64,19 @@ public class LessonController {
     }
 
 
+    @GetMapping("/getAllLessonsByCursor")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'MANAGER', 'ASSISTANT_MANAGER', 'TEACHER')")
+    public SliceResponse<LessonResponse> getAllLessonsByCursor(
+            @RequestParam (value = "cursor", required = false) String cursor,
+            @RequestParam (value = "size", defaultValue = "10") int size,
+            @RequestParam (value = "sort", defaultValue = "lessonName") String sort,
+            @RequestParam (value = "type", defaultValue = "desc") String  type,
+            @RequestParam (value = "withTotal", defaultValue = "false") boolean withTotal
+    ){
+        return lessonService.getAllLessonsByCursor(cursor, size, sort, type, withTotal);
+    }
+
+
 
     @GetMapping("/getAllLessonByLessonId")
     @PreAuthorize("hasAnyAuthority('ADMIN', 'MANAGER', 'ASSISTANT_MANAGER')")
@@ -2,17 +2,21 @@ package com.project.schoolmanagment.controller.business;
 
 import com.project.schoolmanagment.payload.request.business.MeetingRequest;
 import com.project.schoolmanagment.payload.response.abstracts.ResponseMessage;
+import com.project.schoolmanagment.payload.response.abstracts.SliceResponse;
+import com.project.schoolmanagment.payload.response.business.MeetSlotResponse;
 import com.project.schoolmanagment.payload.response.business.MeetingResponse;
 import com.project.schoolmanagment.service.business.MeetingService;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -31,6 +35,20 @@ public class MeetingController {
 
 
 
+    //earliest times the advisor and every student are free, dates are yyyy-MM-dd, duration in minutes
+    @GetMapping("/suggestSlots")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'MANAGER', 'ASSISTANT_MANAGER', 'TEACHER')")
+    public List<MeetSlotResponse> suggestSlots(
+            @RequestParam(value = "advisorTeacherId") Long advisorTeacherId,
+            @RequestParam(value = "studentIds") Long[] studentIds,
+            @RequestParam(value = "startDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(value = "endDate", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(value = "duration", defaultValue = "30") int duration,
+            @RequestParam(value = "limit", defaultValue = "5") int limit){
+        return meetingService.suggestSlots(advisorTeacherId, studentIds, startDate, endDate, duration, limit);
+    }
+
+
     @GetMapping("/getAll")
     @PreAuthorize("hasAnyAuthority('ADMIN')")
     public List<MeetingResponse> getAll(){
@@ -89,6 +107,19 @@ public class MeetingController {
     }
 
 
+    @GetMapping("/getAllMeetByCursor")
+    @PreAuthorize("hasAnyAuthority('ADMIN')")
+    public SliceResponse<MeetingResponse> getAllMeetByCursor(
+            @RequestParam (value = "cursor", required = false) String cursor,
+            @RequestParam (value = "size", defaultValue = "10") int size,
+            @RequestParam (value = "sort", defaultValue = "date") String sort,
+            @RequestParam (value = "type", defaultValue = "desc") String  type,
+            @RequestParam (value = "withTotal", defaultValue = "false") boolean withTotal
+    ){
+        return meetingService.getAllMeetByCursor(cursor, size, sort, type, withTotal);
+    }
+
+
     @GetMapping("/getAllMeetByAdvisorAsPage")
     @PreAuthorize("hasAnyAuthority('TEACHER')")
     public Page<MeetingResponse> getAllMeetByAdvisorAsPage(
@@ -2,9 +2,12 @@ package com.project.schoolmanagment.controller.business;
 
 
 import com.project.schoolmanagment.entity.concretes.business.StudentInfo;
+import com.project.schoolmanagment.payload.request.business.StudentInfoBatchRequest;
 import com.project.schoolmanagment.payload.request.business.StudentInfoRequest;
 import com.project.schoolmanagment.payload.request.business.UpdateStudentInfoRequest;
+import com.project.schoolmanagment.payload.response.abstracts.BatchSaveResponse;
 import com.project.schoolmanagment.payload.response.abstracts.ResponseMessage;
+import com.project.schoolmanagment.payload.response.abstracts.SliceResponse;
 import com.project.schoolmanagment.payload.response.business.StudentInfoResponse;
 import com.project.schoolmanagment.service.business.StudentInfoService;
 import lombok.RequiredArgsConstructor;
@@ -32,6 +35,14 @@ public class StudentInfoController {
         return studentInfoService.saveStudentInfo(request, studentInfoRequest);
     }
 
+    //grades of one lesson for many students, rows failing validation are reported in the response
+    @PostMapping("/saveBatch")
+    @PreAuthorize("hasAnyAuthority('TEACHER')")
+    public ResponseMessage<BatchSaveResponse> saveStudentInfoBatch(HttpServletRequest request,
+                                                                   @RequestBody @Valid StudentInfoBatchRequest studentInfoBatchRequest){
+        return studentInfoService.saveStudentInfoBatch(request, studentInfoBatchRequest);
+    }
+
 
     @DeleteMapping("/delete/{studentInfoId}")
     @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER', 'ASSISTANT_MANAGER')")
@@ -55,6 +66,19 @@ public class StudentInfoController {
     }
 
 
+    @GetMapping("/getAllStudentInfoByCursor")
+    @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER', 'ASSISTANT_MANAGER')")
+    public SliceResponse<StudentInfoResponse> getAllStudentInfoByCursor(
+            @RequestParam (value = "cursor", required = false) String cursor,
+            @RequestParam (value = "size", defaultValue = "10") int size,
+            @RequestParam (value = "sort", defaultValue = "id") String sort,
+            @RequestParam (value = "type", defaultValue = "desc") String  type,
+            @RequestParam (value = "withTotal", defaultValue = "false") boolean withTotal
+    ){
+        return studentInfoService.getStudentInfoByCursor(cursor, size, sort, type, withTotal);
+    }
+
+
     @PostMapping("/update/{studentInfoId}")
     @PreAuthorize("hasAnyAuthority('ADMIN', 'TEACHER')")
     public ResponseMessage<StudentInfoResponse> update(@RequestBody @Valid UpdateStudentInfoRequest studentInfoRequest,
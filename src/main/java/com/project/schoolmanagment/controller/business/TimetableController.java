@@ -0,0 +1,41 @@
+package com.project.schoolmanagment.controller.business;
+
+import com.project.schoolmanagment.payload.response.business.TimetableResponse;
+import com.project.schoolmanagment.security.service.UserDetailsImpl;
+import com.project.schoolmanagment.service.business.TimetableService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/timetable")
+@RequiredArgsConstructor
+public class TimetableController {
+
+    private final TimetableService timetableService;
+
+    /**
+     * week of the logged in student or teacher.
+     * a request with a matching If-None-Match gets 304 without a body, Spring compares the ETag
+     * @param date any day of the week, today when missing
+     */
+    @GetMapping("/me")
+    @PreAuthorize("hasAnyAuthority('TEACHER','STUDENT')")
+    public ResponseEntity<TimetableResponse> getMyTimetable(
+            @AuthenticationPrincipal UserDetailsImpl userDetails,
+            @RequestParam(value = "date", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date){
+
+        TimetableResponse timetable = timetableService.getTimetable(userDetails.getId(), date);
+        return ResponseEntity.ok()
+                .eTag(timetableService.getEtag(timetable))
+                //may be stored, but has to be revalidated on every open
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(timetable);
+    }
+}
@@ -0,0 +1,38 @@
+package com.project.schoolmanagment.controller.business;
+
+import com.project.schoolmanagment.payload.response.abstracts.ResponseMessage;
+import com.project.schoolmanagment.payload.response.business.TimetablePlanResponse;
+import com.project.schoolmanagment.service.business.TimetableSolverService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+//assigns the lesson programs of a term to teachers and students, dry run first then apply
+@RestController
+@RequestMapping("/timetableSolver")
+@RequiredArgsConstructor
+public class TimetableSolverController {
+
+    private final TimetableSolverService timetableSolverService;
+
+    //nothing is saved, the response lists what apply would add
+    @GetMapping("/plan/{educationTermId}")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'MANAGER', 'ASSISTANT_MANAGER')")
+    public ResponseMessage<TimetablePlanResponse> createPlan(
+            @PathVariable Long educationTermId,
+            @RequestParam(value = "minCredits", defaultValue = "0") int minCredits){
+
+        return timetableSolverService.createPlan(educationTermId, minCredits);
+    }
+
+    //409 when the data changed since the dry run that returned this plan id
+    @PostMapping("/apply/{educationTermId}")
+    @PreAuthorize("hasAnyAuthority('ADMIN', 'MANAGER', 'ASSISTANT_MANAGER')")
+    public ResponseMessage<TimetablePlanResponse> applyPlan(
+            @PathVariable Long educationTermId,
+            @RequestParam(value = "planId") String planId,
+            @RequestParam(value = "minCredits", defaultValue = "0") int minCredits){
+
+        return timetableSolverService.applyPlan(educationTermId, minCredits, planId);
+    }
+}
@@ -0,0 +1,37 @@
+package com.project.schoolmanagment.controller.business;
+
+import com.project.schoolmanagment.payload.response.abstracts.ResponseMessage;
+import com.project.schoolmanagment.payload.response.business.TranscriptResponse;
+import com.project.schoolmanagment.service.business.TranscriptService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import javax.servlet.http.HttpServletRequest;
+
+@RestController
+@RequestMapping("/transcript")
+@RequiredArgsConstructor
+public class TranscriptController {
+
+    private final TranscriptService transcriptService;
+
+    @GetMapping("/getByStudentId/{studentId}")
+    @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER', 'ASSISTANT_MANAGER', 'TEACHER')")
+    public TranscriptResponse getTranscriptByStudentId(@PathVariable Long studentId){
+        return transcriptService.getTranscriptByStudentId(studentId);
+    }
+
+    @GetMapping("/getTranscript")
+    @PreAuthorize("hasAnyAuthority('STUDENT')")
+    public TranscriptResponse getTranscriptForStudent(HttpServletRequest request){
+        return transcriptService.getTranscriptForStudent(request);
+    }
+
+    //recomputes every transcript from the student infos
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasAnyAuthority('ADMIN')")
+    public ResponseMessage<Integer> rebuild(){
+        return transcriptService.rebuild();
+    }
+}
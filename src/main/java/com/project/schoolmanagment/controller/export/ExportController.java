@@ -0,0 +1,36 @@
+package com.project.schoolmanagment.controller.export;
+
+import com.project.schoolmanagment.entity.enums.RoleType;
+import com.project.schoolmanagment.service.export.ExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+//whole tables as a file download, format is csv or json
+@RestController
+@RequestMapping("/export")
+@RequiredArgsConstructor
+public class ExportController {
+
+    private final ExportService exportService;
+
+    @GetMapping("/studentInfos")
+    @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER', 'ASSISTANT_MANAGER')")
+    public ResponseEntity<StreamingResponseBody> exportStudentInfos(
+            @RequestParam(value = "format", defaultValue = "csv") String format){
+        return exportService.exportStudentInfos(format);
+    }
+
+    @GetMapping("/users")
+    @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER', 'ASSISTANT_MANAGER')")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(value = "format", defaultValue = "csv") String format,
+            @RequestParam(value = "role", required = false) RoleType roleType){
+        return exportService.exportUsers(format, roleType);
+    }
+}
@@ -0,0 +1,59 @@
+package com.project.schoolmanagment.controller.metrics;
+
+import com.project.schoolmanagment.payload.response.metrics.CacheStatsResponse;
+import com.project.schoolmanagment.payload.response.metrics.OperationMetricsResponse;
+import com.project.schoolmanagment.payload.response.metrics.PasswordHashingStatsResponse;
+import com.project.schoolmanagment.service.metrics.MetricsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/metrics")
+@RequiredArgsConstructor
+public class MetricsController {
+
+    private final MetricsService metricsService;
+
+    @GetMapping("/caches")
+    @PreAuthorize("hasAnyAuthority('ADMIN')")
+    public List<CacheStatsResponse> getCacheStats(){
+        return metricsService.getCacheStats();
+    }
+
+    //threads, queue depth and rejections of the BCrypt executor
+    @GetMapping("/passwordHashing")
+    @PreAuthorize("hasAnyAuthority('ADMIN')")
+    public PasswordHashingStatsResponse getPasswordHashingStats(){
+        return metricsService.getPasswordHashingStats();
+    }
+
+    //latency histogram and sql statements per service method
+    @GetMapping("/services")
+    @PreAuthorize("hasAnyAuthority('ADMIN')")
+    public List<OperationMetricsResponse> getServiceMetrics(){
+        return metricsService.getServiceMetrics();
+    }
+
+    //latency histogram and sql statements per endpoint, with the calls above the statement threshold
+    @GetMapping("/requests")
+    @PreAuthorize("hasAnyAuthority('ADMIN')")
+    public List<OperationMetricsResponse> getRequestMetrics(){
+        return metricsService.getRequestMetrics();
+    }
+
+    //clears service and request metrics, e.g. before a load test
+    @DeleteMapping("/reset")
+    @PreAuthorize("hasAnyAuthority('ADMIN')")
+    public ResponseEntity<Void> resetOperationMetrics(){
+        metricsService.resetOperationMetrics();
+        return ResponseEntity.noContent().build();
+    }
+
+}
@@ -44,4 +44,13 @@ public class AuthenticationController {
     }
 
 
+    @PostMapping("/logout")
+    public ResponseEntity<String> logout(HttpServletRequest request){
+
+        authenticationService.logout(request);
+
+        return ResponseEntity.ok(SuccessMessages.LOGOUT_RESPONSE_MESSAGE);
+    }
+
+
 }
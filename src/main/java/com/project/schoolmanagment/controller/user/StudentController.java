@@ -4,6 +4,7 @@ import com.project.schoolmanagment.payload.request.user.ChooseLessonProgramWithI
 import com.project.schoolmanagment.payload.request.user.StudentRequest;
 import com.project.schoolmanagment.payload.request.user.StudentRequestWithoutPassword;
 import com.project.schoolmanagment.payload.response.abstracts.ResponseMessage;
+import com.project.schoolmanagment.payload.response.abstracts.BatchSaveResponse;
 import com.project.schoolmanagment.payload.response.user.StudentResponse;
 import com.project.schoolmanagment.service.user.StudentService;
 import lombok.RequiredArgsConstructor;
@@ -13,6 +14,7 @@ import org.springframework.web.bind.annotation.*;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
+import java.util.List;
 
 @RestController
 @RequestMapping("/student")
@@ -31,6 +33,16 @@ public class StudentController {
 
 
 
+    //rows failing validation are reported in the response, the others are saved
+    @PostMapping("/bulkSave")
+    @PreAuthorize("hasAnyAuthority('ADMIN')")
+    public ResponseEntity<ResponseMessage<BatchSaveResponse>> bulkSaveStudents(
+            @RequestBody List<StudentRequest> studentRequests){
+
+        return ResponseEntity.ok(studentService.bulkSaveStudents(studentRequests));
+    }
+
+
     @PatchMapping("/update")
     @PreAuthorize("hasAnyAuthority('STUDENT')")
     public ResponseEntity<String> updateStudent(@RequestBody @Valid StudentRequestWithoutPassword studentRequestWithoutPassword,
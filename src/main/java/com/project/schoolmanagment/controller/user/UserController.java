@@ -4,6 +4,7 @@ import com.project.schoolmanagment.payload.request.user.UserRequest;
 import com.project.schoolmanagment.payload.request.user.UserRequestWithoutPassword;
 import com.project.schoolmanagment.payload.response.abstracts.BaseUserResponse;
 import com.project.schoolmanagment.payload.response.abstracts.ResponseMessage;
+import com.project.schoolmanagment.payload.response.abstracts.SliceResponse;
 import com.project.schoolmanagment.payload.response.user.UserResponse;
 import com.project.schoolmanagment.service.user.UserService;
 import lombok.RequiredArgsConstructor;
@@ -57,6 +58,20 @@ public class UserController {
 
     }
 
+    //keyset version of getAllUserByPage, cost does not grow with page depth
+    @GetMapping("/getAllUserByCursor/{userRole}")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<SliceResponse<UserResponse>> getUsersByCursor(
+            @PathVariable String userRole,
+            @RequestParam (value = "cursor", required = false) String cursor,
+            @RequestParam (value = "size", defaultValue = "10") int size,
+            @RequestParam (value = "sort", defaultValue = "name") String sort,
+            @RequestParam (value = "type", defaultValue = "desc") String  type,
+            @RequestParam (value = "withTotal", defaultValue = "false") boolean withTotal
+    ){
+        return ResponseEntity.ok(userService.getUsersByCursor(cursor, size, sort, type, withTotal, userRole));
+    }
+
     @GetMapping("/getUserByName")
     @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER', 'ASSISTANT_MANAGER')")
     public List<UserResponse> getUserByName(@RequestParam(name = "name") String userName){
@@ -1,10 +1,7 @@
 package com.project.schoolmanagment.entity.concretes.business;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.*;
 
 import javax.persistence.*;
 import java.util.Set;
@@ -25,6 +22,9 @@ public class Lesson {
 
 	private Boolean isCompulsory;
 
+	//hashing a lazy collection would load it whenever a lesson is put into a set
+	@EqualsAndHashCode.Exclude
+	@ToString.Exclude
 	@JsonIgnore
 	@ManyToMany(mappedBy = "lessons",cascade = CascadeType.REMOVE)
 	private Set<LessonProgram> lessonPrograms;
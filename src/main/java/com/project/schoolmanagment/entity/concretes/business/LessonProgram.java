@@ -39,12 +39,13 @@ public class LessonProgram {
 	private Set<Lesson>lessons;
 
 
-	@ManyToOne(cascade = CascadeType.PERSIST)
+	//no cascade, the term is an existing row and may come detached from the reference cache
+	@ManyToOne
 	private EducationTerm educationTerm;
 
 
 	@JsonProperty(access = JsonProperty.Access.READ_ONLY)
-	@ManyToMany(mappedBy = "lessonProgramList",fetch = FetchType.EAGER)
+	@ManyToMany(mappedBy = "lessonProgramList")
 	private Set<User>users;
 
 	@PreRemove
@@ -17,6 +17,8 @@ import java.util.List;
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
+//conflict checks filter meetings of an advisor by date
+@Table(indexes = @Index(name = "idx_meet_advisory_teacher_date", columnList = "advisory_teacher_id, date"))
 public class Meet {
 
 	@Id
@@ -41,7 +43,9 @@ public class Meet {
 	@JoinTable(
 			name = "meet_student_table",
 			joinColumns = @JoinColumn(name = "meet_id"),
-			inverseJoinColumns = @JoinColumn(name = "student_id")
+			inverseJoinColumns = @JoinColumn(name = "student_id"),
+			//lookups come from the student side, the PK starts with meet_id
+			indexes = @Index(name = "idx_meet_student_student_meet", columnList = "student_id, meet_id")
 	)
 	private List<User>studentList;
 
@@ -0,0 +1,44 @@
+package com.project.schoolmanagment.entity.concretes.business;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.project.schoolmanagment.entity.concretes.user.User;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+
+/**
+ * Running totals of the student infos of one student in one education term.
+ * Kept up to date by TranscriptService whenever a student info changes,
+ * so a transcript never has to aggregate StudentInfo rows.
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_student_term_gpa_student_term",
+		columnNames = {"student_id", "education_term_id"}))
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class StudentTermGpa {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JsonIgnore
+	private User student;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	private EducationTerm educationTerm;
+
+	private Integer lessonCount;
+
+	private Integer totalCredits;
+
+	//sum of creditScore * examAverage, gpa = weightedScore / totalCredits
+	private Double weightedScore;
+
+}
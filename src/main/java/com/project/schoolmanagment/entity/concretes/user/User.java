@@ -73,6 +73,8 @@ public class User {
 	@JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
 	private UserRole userRole;
 
+	//infos given by a teacher, only loaded on demand, one query per user when serialized
+	@JsonIgnore
 	@OneToMany(mappedBy = "teacher",cascade = CascadeType.REMOVE)
 	private List<StudentInfo>studentInfos;
 
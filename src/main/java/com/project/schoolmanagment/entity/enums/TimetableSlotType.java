@@ -0,0 +1,5 @@
+package com.project.schoolmanagment.entity.enums;
+
+public enum TimetableSlotType {
+	LESSON, MEET
+}
@@ -0,0 +1,23 @@
+package com.project.schoolmanagment.exception;
+
+import com.project.schoolmanagment.payload.response.business.MeetConflictResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.List;
+
+//the conflicting meetings are added to the error response by ApiErrorAttributes
+@ResponseStatus(HttpStatus.CONFLICT)
+public class MeetConflictException extends ConflictException{
+
+    private final List<MeetConflictResponse> conflicts;
+
+    public MeetConflictException(String message, List<MeetConflictResponse> conflicts) {
+        super(message);
+        this.conflicts = conflicts;
+    }
+
+    public List<MeetConflictResponse> getConflicts() {
+        return conflicts;
+    }
+}
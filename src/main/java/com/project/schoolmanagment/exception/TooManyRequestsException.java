@@ -0,0 +1,12 @@
+package com.project.schoolmanagment.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class TooManyRequestsException extends RuntimeException{
+
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
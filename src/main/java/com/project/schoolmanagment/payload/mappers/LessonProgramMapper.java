@@ -8,12 +8,17 @@ import com.project.schoolmanagment.payload.response.business.LessonProgramRespon
 import lombok.Data;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 @Data
 @Component
 public class LessonProgramMapper {
 
+    private final LessonMapper lessonMapper;
+    private final EducationTermMapper educationTermMapper;
+
     public LessonProgram mapLessonProgramRequestToLessonProgram(
             LessonProgramRequest lessonProgramRequest,
             Set<Lesson> lessonSet,
@@ -36,10 +41,25 @@ public class LessonProgramMapper {
                 .startTime(lessonProgram.getStartTime())
                 .stopTime(lessonProgram.getStopTime())
                 .lessonProgramId(lessonProgram.getId())
-                .lessonName(lessonProgram.getLessons())
-                .educationTerm(lessonProgram.getEducationTerm())
+                .lessonName(lessonProgram.getLessons()
+                        .stream()
+                        .map(lessonMapper::mapLessonToLessonResponse)
+                        .collect(Collectors.toSet()))
+                .educationTerm(lessonProgram.getEducationTerm() == null ? null :
+                        educationTermMapper.mapEducationTermToEducationTermResponse(lessonProgram.getEducationTerm()))
                 .build();
 
     }
 
+    //lesson programs of a student or teacher, null stays null like the NON_NULL response field
+    public Set<LessonProgramResponse> mapLessonProgramsToLessonProgramResponses(Collection<LessonProgram> lessonPrograms){
+        if(lessonPrograms == null){
+            return null;
+        }
+        return lessonPrograms
+                .stream()
+                .map(this::mapLessonProgramToLessonProgramResponse)
+                .collect(Collectors.toSet());
+    }
+
 }
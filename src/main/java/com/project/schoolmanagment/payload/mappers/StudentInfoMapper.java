@@ -4,6 +4,7 @@ import com.project.schoolmanagment.entity.concretes.business.EducationTerm;
 import com.project.schoolmanagment.entity.concretes.business.Lesson;
 import com.project.schoolmanagment.entity.concretes.business.StudentInfo;
 import com.project.schoolmanagment.entity.enums.Note;
+import com.project.schoolmanagment.payload.request.business.StudentGradeRequest;
 import com.project.schoolmanagment.payload.request.business.StudentInfoRequest;
 import com.project.schoolmanagment.payload.request.business.UpdateStudentInfoRequest;
 import com.project.schoolmanagment.payload.response.business.StudentInfoResponse;
@@ -30,6 +31,20 @@ public class StudentInfoMapper {
     }
 
 
+    public StudentInfo mapStudentGradeRequestToStudentInfo(StudentGradeRequest studentGradeRequest,
+                                                           Note note, Double average){
+
+        return StudentInfo.builder()
+                .infoNote(studentGradeRequest.getInfoNote())
+                .absentee(studentGradeRequest.getAbsentee())
+                .midtermExam(studentGradeRequest.getMidtermExam())
+                .finalExam(studentGradeRequest.getFinalExam())
+                .examAverage(average)
+                .letterGrade(note)
+                .build();
+    }
+
+
     public StudentInfoResponse mapStudentInfoToStudentInfoResponse(StudentInfo studentInfo){
 
         return StudentInfoResponse.builder()
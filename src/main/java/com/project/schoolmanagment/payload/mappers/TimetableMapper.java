@@ -0,0 +1,44 @@
+package com.project.schoolmanagment.payload.mappers;
+
+import com.project.schoolmanagment.entity.concretes.business.Lesson;
+import com.project.schoolmanagment.entity.concretes.business.LessonProgram;
+import com.project.schoolmanagment.entity.concretes.business.Meet;
+import com.project.schoolmanagment.entity.enums.Day;
+import com.project.schoolmanagment.entity.enums.TimetableSlotType;
+import com.project.schoolmanagment.payload.response.business.TimetableSlotResponse;
+import lombok.Data;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Collectors;
+
+@Data
+@Component
+public class TimetableMapper {
+
+    public TimetableSlotResponse mapLessonProgramToTimetableSlot(LessonProgram lessonProgram){
+        return TimetableSlotResponse.builder()
+                .type(TimetableSlotType.LESSON)
+                .id(lessonProgram.getId())
+                .day(lessonProgram.getDay())
+                .startTime(lessonProgram.getStartTime())
+                .stopTime(lessonProgram.getStopTime())
+                .title(lessonProgram.getLessons()
+                        .stream()
+                        .map(Lesson::getLessonName)
+                        .sorted()
+                        .collect(Collectors.joining(", ")))
+                .build();
+    }
+
+    public TimetableSlotResponse mapMeetToTimetableSlot(Meet meet){
+        return TimetableSlotResponse.builder()
+                .type(TimetableSlotType.MEET)
+                .id(meet.getId())
+                .day(Day.valueOf(meet.getDate().getDayOfWeek().name()))
+                .date(meet.getDate())
+                .startTime(meet.getStartTime())
+                .stopTime(meet.getStopTime())
+                .title(meet.getDescription())
+                .build();
+    }
+}
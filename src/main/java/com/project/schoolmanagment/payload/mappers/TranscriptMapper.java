@@ -0,0 +1,54 @@
+package com.project.schoolmanagment.payload.mappers;
+
+import com.project.schoolmanagment.entity.concretes.business.StudentTermGpa;
+import com.project.schoolmanagment.payload.response.business.TermGpaResponse;
+import com.project.schoolmanagment.payload.response.business.TranscriptResponse;
+import com.project.schoolmanagment.service.helper.GradeCalculator;
+import lombok.Data;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Data
+@Component
+public class TranscriptMapper {
+
+    private final GradeCalculator gradeCalculator;
+
+    public TermGpaResponse mapStudentTermGpaToTermGpaResponse(StudentTermGpa studentTermGpa){
+        Double gpa = gpa(studentTermGpa.getWeightedScore(), studentTermGpa.getTotalCredits());
+        return TermGpaResponse.builder()
+                .educationTermId(studentTermGpa.getEducationTerm().getId())
+                .term(studentTermGpa.getEducationTerm().getTerm())
+                .startDate(studentTermGpa.getEducationTerm().getStartDate())
+                .lessonCount(studentTermGpa.getLessonCount())
+                .totalCredits(studentTermGpa.getTotalCredits())
+                .gpa(gpa)
+                .letterGrade(gpa == null ? null : gradeCalculator.checkLetterGrade(gpa))
+                .build();
+    }
+
+    public TranscriptResponse mapStudentTermGpasToTranscriptResponse(Long studentId, List<StudentTermGpa> termGpas){
+        int totalCredits = termGpas.stream().mapToInt(StudentTermGpa::getTotalCredits).sum();
+        double weightedScore = termGpas.stream().mapToDouble(StudentTermGpa::getWeightedScore).sum();
+        Double cumulativeGpa = gpa(weightedScore, totalCredits);
+        return TranscriptResponse.builder()
+                .studentId(studentId)
+                .totalCredits(totalCredits)
+                .cumulativeGpa(cumulativeGpa)
+                .letterGrade(cumulativeGpa == null ? null : gradeCalculator.checkLetterGrade(cumulativeGpa))
+                .terms(termGpas.stream()
+                        .map(this::mapStudentTermGpaToTermGpaResponse)
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    //lessons without credit do not count, null when there is nothing to average
+    private Double gpa(Double weightedScore, Integer totalCredits){
+        if(totalCredits == null || totalCredits <= 0){
+            return null;
+        }
+        return Math.round(weightedScore / totalCredits * 100) / 100.0;
+    }
+}
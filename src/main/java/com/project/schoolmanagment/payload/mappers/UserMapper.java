@@ -8,11 +8,15 @@ import com.project.schoolmanagment.payload.response.user.StudentResponse;
 import com.project.schoolmanagment.payload.response.user.TeacherResponse;
 import com.project.schoolmanagment.payload.response.user.UserResponse;
 
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 @Component
+@RequiredArgsConstructor
 public class UserMapper {
 
+    private final LessonProgramMapper lessonProgramMapper;
+
     //example of builder design pattern with @SuperBuilder/@Builder annotation
     public User mapUserRequestToUser(BaseUserRequest userRequest){
         return User.builder()
@@ -69,7 +73,7 @@ public class UserMapper {
                 .motherName(student.getMotherName())
                 .studentNumber(student.getStudentNumber())
                 .isActive(student.isActive())
-                .lessonProgramSet(student.getLessonProgramList())
+                .lessonProgramSet(lessonProgramMapper.mapLessonProgramsToLessonProgramResponses(student.getLessonProgramList()))
                 .build();
 
 
@@ -90,7 +94,7 @@ public class UserMapper {
                 .phoneNumber(teacher.getPhoneNumber())
                 .gender(teacher.getGender())
                 .email(teacher.getEmail())
-                .lessonProgramSet(teacher.getLessonProgramList())
+                .lessonProgramSet(lessonProgramMapper.mapLessonProgramsToLessonProgramResponses(teacher.getLessonProgramList()))
                 .isAdvisorTeacher(teacher.getIsAdvisor())
                 .build();
 
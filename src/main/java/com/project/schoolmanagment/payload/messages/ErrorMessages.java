@@ -17,10 +17,14 @@ public class ErrorMessages {
 
     public static final String NOT_FOUND_USER_MESSAGE = "Error: User not found with id %s";
 
+    public static final String NOT_FOUND_USERS_WITH_ROLE_MESSAGE = "Error: Users with ids %s do not have the role %s";
+
     public static final String NOT_PERMITTED_METHOD_MESSAGE = "You do not have any permission to do this operation";
 
     public static final String PASSWORD_NOT_MATCHED = "Your passwords are not matched" ;
 
+    public static final String DUPLICATED_IN_REQUEST_MESSAGE = "Error: %s %s is used more than once in this request";
+
     //education term
     public static final String EDUCATION_START_DATE_IS_EARLIER_THAN_LAST_REGISTRATION_DATE = "Error: The start date cannot be earlier than the last registration date " ;
     public static final String EDUCATION_END_DATE_IS_EARLIER_THAN_START_DATE = "Error: The end date cannot be earlier than the start date " ;
@@ -41,6 +45,7 @@ public class ErrorMessages {
     public static final String NOT_FOUND_LESSON_PROGRAM_MESSAGE = "Error: Lesson program with this field %s not found";
     public static final String NOT_FOUND_LESSON_PROGRAM_MESSAGE_WITHOUT_ID_INFO = "Error: Lesson program with this field not found";
     public static final String LESSON_PROGRAM_ALREADY_EXIST = "Error: Course schedule can not be selected for the same hour and date" ;
+    public static final String LESSON_PROGRAM_CONFLICT_MESSAGE = "Error: Course schedules overlap, conflicting lesson program ids: %s";
 
 
     //advisor teacher
@@ -57,6 +62,23 @@ public class ErrorMessages {
     //meet
     public static final String MEET_NOT_FOUND_MESSAGE = "Error: Meet with id %d not found" ;
     public static final String MEET_HOURS_CONFLICT = "meet hours has conflict with existing meets";
+    public static final String INVALID_SLOT_SEARCH_RANGE_MESSAGE = "Error: Free slots can be searched for up to %d days, end date can not be before the start date";
+    public static final String INVALID_MEET_DURATION_MESSAGE = "Error: Meeting duration must be between 1 and %d minutes";
+    public static final String INVALID_SLOT_LIMIT_MESSAGE = "Error: Number of suggested slots must be between 1 and %d";
+
+    public static final String INVALID_CURSOR_MESSAGE = "Error: Cursor %s is not valid for this sort";
+    public static final String INVALID_SORT_FIELD_MESSAGE = "Error: %s can not be used for sorting";
+    public static final String INVALID_SLICE_SIZE_MESSAGE = "Error: Slice size must be between 1 and %d";
+
+    //export
+    public static final String INVALID_EXPORT_FORMAT_MESSAGE = "Error: Export format %s is not supported, use csv or json";
+
+    //password hashing
+    public static final String PASSWORD_HASHING_BUSY_MESSAGE = "Error: Too many logins and password changes at the moment, please try again shortly";
+
+    //timetable solver
+    public static final String TIMETABLE_PLAN_OUTDATED_MESSAGE = "Error: Timetable plan %s is outdated, lesson programs or assignments have changed since the dry run";
+    public static final String INVALID_MIN_CREDITS_MESSAGE = "Error: Minimum credits can not be negative";
 
 
 }
@@ -14,6 +14,8 @@ public class SuccessMessages {
 
     public static final String PASSWORD_CHANGED_RESPONSE_MESSAGE = "Password Successfully Changed" ;
 
+    public static final String LOGOUT_RESPONSE_MESSAGE = "Logged out successfully" ;
+
     //Education term
     public static final String EDUCATION_TERM_SAVE = "Education Term is Saved";
     public static final String EDUCATION_TERM_UPDATE = "Education Term is Updated Successfully";
@@ -37,6 +39,7 @@ public class SuccessMessages {
     //Student
     public static final String STUDENT_SAVE = "Student is Saved";
     public static final String STUDENT_UPDATE = "Student is Updated Successfully";
+    public static final String STUDENT_BULK_SAVE = "%d Students are Saved";
 
     //Teacher
     public static final String TEACHER_SAVE = "Teacher is Saved";
@@ -51,6 +54,10 @@ public class SuccessMessages {
     public static final String STUDENT_INFO_SAVE = "Student Info is Saved";
     public static final String STUDENT_INFO_UPDATE = "Student Info is Updated Successfully";
     public static final String STUDENT_INFO_DELETE = "Student Info is Deleted Successfully";
+    public static final String STUDENT_INFO_BATCH_SAVE = "%d Student Infos are Saved";
+
+    //transcript
+    public static final String TRANSCRIPT_REBUILT = "Transcripts are Rebuilt";
 
     //Meet
     public static final String MEET_SAVE = "Meet is Saved";
@@ -58,4 +65,8 @@ public class SuccessMessages {
     public static final String MEET_DELETE = "Meet is Deleted Successfully";
     public static final String MEET_FOUND = "Meet is Found Successfully";
 
+    //timetable solver
+    public static final String TIMETABLE_PLAN_CREATED = "Timetable Plan is Created, nothing is saved";
+    public static final String TIMETABLE_PLAN_APPLIED = "Timetable Plan is Applied";
+
 }
@@ -0,0 +1,38 @@
+package com.project.schoolmanagment.payload.request.business;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.*;
+
+//one row of StudentInfoBatchRequest, lesson and term are given once for the whole batch
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class StudentGradeRequest {
+
+    @NotNull(message = "Please select student")
+    private Long studentId;
+
+    @DecimalMax("100.0")
+    @DecimalMin("0.0")
+    @NotNull(message = "Please enter midterm exam")
+    private Double midtermExam;
+
+    @DecimalMax("100.0")
+    @DecimalMin("0.0")
+    @NotNull(message = "Please enter final exam")
+    private Double finalExam;
+
+    @NotNull(message = "Please enter absentee")
+    private Integer absentee;
+
+    @NotNull(message = "Please enter info")
+    @Size(min = 10, max=200, message = "Info should be at least 10 chars")
+    @Pattern(regexp = "\\A(?!\\s*\\Z).+" ,message="Info must consist of the characters .")
+    private String infoNote;
+
+}
@@ -0,0 +1,28 @@
+package com.project.schoolmanagment.payload.request.business;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class StudentInfoBatchRequest {
+
+    @NotNull(message = "please select education term")
+    private Long educationTermId;
+
+    @NotNull(message = "Please select lesson")
+    private Long lessonId;
+
+    //rows are validated one by one, invalid ones are reported instead of failing the batch
+    @NotEmpty(message = "Please enter at least one grade")
+    private List<StudentGradeRequest> grades;
+
+}
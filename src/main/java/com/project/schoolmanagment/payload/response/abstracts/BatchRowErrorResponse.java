@@ -0,0 +1,23 @@
+package com.project.schoolmanagment.payload.response.abstracts;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BatchRowErrorResponse {
+
+    //index of the row in the request, starting from 0
+    private int row;
+
+    private String identifier;
+
+    private List<String> messages;
+
+}
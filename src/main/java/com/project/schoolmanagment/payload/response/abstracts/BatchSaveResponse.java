@@ -0,0 +1,22 @@
+package com.project.schoolmanagment.payload.response.abstracts;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BatchSaveResponse {
+
+    private int savedCount;
+
+    private int failedCount;
+
+    private List<BatchRowErrorResponse> errors;
+
+}
@@ -0,0 +1,42 @@
+package com.project.schoolmanagment.payload.response.abstracts;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+//one page of a keyset (cursor) pagination, nextCursor is passed back to get the following page
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SliceResponse<T> {
+
+    private List<T> content;
+
+    private int size;
+
+    private boolean hasNext;
+
+    private String nextCursor;
+
+    //only filled when the client asks for it, counting is the expensive part of deep paging
+    private Long totalElements;
+
+    public <R> SliceResponse<R> map(Function<T, R> mapper) {
+        return SliceResponse.<R>builder()
+                .content(content.stream().map(mapper).collect(Collectors.toList()))
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .totalElements(totalElements)
+                .build();
+    }
+
+}
@@ -1,8 +1,6 @@
 package com.project.schoolmanagment.payload.response.business;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
-import com.project.schoolmanagment.entity.concretes.business.EducationTerm;
-import com.project.schoolmanagment.entity.concretes.business.Lesson;
 import com.project.schoolmanagment.entity.enums.Day;
 import com.project.schoolmanagment.payload.response.user.StudentResponse;
 import com.project.schoolmanagment.payload.response.user.TeacherResponse;
@@ -19,6 +17,7 @@ import java.util.Set;
 @AllArgsConstructor
 @Builder
 @JsonInclude(JsonInclude.Include.NON_NULL)
+//only flat DTOs, so serializing a response never walks the lazy graph of the entities
 public class LessonProgramResponse {
 
     private Long lessonProgramId;
@@ -29,9 +28,9 @@ public class LessonProgramResponse {
 
     private LocalTime stopTime;
 
-    private Set<Lesson> lessonName;
+    private Set<LessonResponse> lessonName;
 
-    private EducationTerm educationTerm;
+    private EducationTermResponse educationTerm;
 
     private Set<TeacherResponse> teachers;
 
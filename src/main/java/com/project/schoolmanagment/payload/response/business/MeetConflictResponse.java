@@ -0,0 +1,20 @@
+package com.project.schoolmanagment.payload.response.business;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class MeetConflictResponse {
+
+    //advisor teacher or student of the new meeting
+    private Long participantId;
+
+    //existing meeting of that participant overlapping the new one
+    private Long meetId;
+
+}
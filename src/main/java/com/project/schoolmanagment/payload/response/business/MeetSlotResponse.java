@@ -0,0 +1,29 @@
+package com.project.schoolmanagment.payload.response.business;
+
+import com.project.schoolmanagment.entity.enums.Day;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class MeetSlotResponse {
+
+    private LocalDate date;
+
+    private Day day;
+
+    private LocalTime startTime;
+
+    private LocalTime stopTime;
+
+    //everyone stays free until then, the meeting can start later or run longer
+    private LocalTime freeUntil;
+
+}
@@ -0,0 +1,45 @@
+package com.project.schoolmanagment.payload.response.business;
+
+import com.project.schoolmanagment.entity.enums.Note;
+import com.project.schoolmanagment.entity.enums.Term;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+//one flat export row, built by the query itself so no entity is loaded
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentInfoExportResponse {
+
+    private Long id;
+
+    private Long studentId;
+
+    private String studentUsername;
+
+    private Integer studentNumber;
+
+    private String lessonName;
+
+    private Integer creditScore;
+
+    private Term educationTerm;
+
+    private LocalDate termStartDate;
+
+    private Double midtermExam;
+
+    private Double finalExam;
+
+    private Double average;
+
+    private Note note;
+
+    private Integer absentee;
+
+    private String teacherUsername;
+
+}
@@ -0,0 +1,32 @@
+package com.project.schoolmanagment.payload.response.business;
+
+import com.project.schoolmanagment.entity.enums.Note;
+import com.project.schoolmanagment.entity.enums.Term;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TermGpaResponse {
+
+    private Long educationTermId;
+
+    private Term term;
+
+    private LocalDate startDate;
+
+    private Integer lessonCount;
+
+    private Integer totalCredits;
+
+    private Double gpa;
+
+    private Note letterGrade;
+
+}
@@ -0,0 +1,23 @@
+package com.project.schoolmanagment.payload.response.business;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TimetablePlanAssignmentResponse {
+
+    private Long userId;
+
+    private String username;
+
+    //existing programs of the user are kept, these come on top
+    private List<Long> addedLessonProgramIds;
+
+}
@@ -0,0 +1,36 @@
+package com.project.schoolmanagment.payload.response.business;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TimetablePlanResponse {
+
+    private Long educationTermId;
+
+    //hash of the assignments, apply only saves a plan with the same id
+    private String planId;
+
+    private Integer minCredits;
+
+    private Long solveTimeMs;
+
+    //user and lesson program pairs to be added
+    private Integer addedAssignments;
+
+    private List<TimetablePlanAssignmentResponse> teacherAssignments;
+
+    private List<TimetablePlanAssignmentResponse> studentAssignments;
+
+    private List<Long> unassignedLessonProgramIds;
+
+    private List<TimetablePlanShortfallResponse> shortfalls;
+
+}
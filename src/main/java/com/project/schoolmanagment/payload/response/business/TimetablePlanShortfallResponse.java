@@ -0,0 +1,25 @@
+package com.project.schoolmanagment.payload.response.business;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TimetablePlanShortfallResponse {
+
+    private Long userId;
+
+    private String username;
+
+    //compulsory lessons of the term that could not be placed
+    private List<Long> missingLessonIds;
+
+    private Integer missingCredits;
+
+}
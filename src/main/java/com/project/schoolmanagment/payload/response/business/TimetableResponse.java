@@ -0,0 +1,25 @@
+package com.project.schoolmanagment.payload.response.business;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TimetableResponse {
+
+    private Long userId;
+
+    //monday of the week
+    private LocalDate weekStart;
+
+    //ordered by day and start time
+    private List<TimetableSlotResponse> slots;
+
+}
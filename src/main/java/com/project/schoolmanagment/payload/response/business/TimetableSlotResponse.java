@@ -0,0 +1,38 @@
+package com.project.schoolmanagment.payload.response.business;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.project.schoolmanagment.entity.enums.Day;
+import com.project.schoolmanagment.entity.enums.TimetableSlotType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TimetableSlotResponse {
+
+    private TimetableSlotType type;
+
+    //lesson program id or meet id
+    private Long id;
+
+    private Day day;
+
+    //only meets have a date, lessons repeat every week of their term
+    private LocalDate date;
+
+    private LocalTime startTime;
+
+    private LocalTime stopTime;
+
+    //lesson names or meet description
+    private String title;
+
+}
@@ -0,0 +1,28 @@
+package com.project.schoolmanagment.payload.response.business;
+
+import com.project.schoolmanagment.entity.enums.Note;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TranscriptResponse {
+
+    private Long studentId;
+
+    private Integer totalCredits;
+
+    //credit weighted over every term
+    private Double cumulativeGpa;
+
+    private Note letterGrade;
+
+    private List<TermGpaResponse> terms;
+
+}
@@ -0,0 +1,24 @@
+package com.project.schoolmanagment.payload.response.metrics;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class CacheStatsResponse {
+
+    private String name;
+
+    private int size;
+
+    private long hits;
+
+    private long misses;
+
+    private double hitRatio;
+
+}
@@ -0,0 +1,38 @@
+package com.project.schoolmanagment.payload.response.metrics;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OperationMetricsResponse {
+
+    //service method or http method and path pattern
+    private String name;
+
+    private long count;
+
+    private double meanMs;
+
+    private double p50Ms;
+
+    private double p95Ms;
+
+    private double p99Ms;
+
+    private double maxMs;
+
+    private double meanQueries;
+
+    private long maxQueries;
+
+    //only for requests, calls above backendapi.app.metrics.queryThreshold
+    private Long overQueryThreshold;
+
+}
@@ -0,0 +1,26 @@
+package com.project.schoolmanagment.payload.response.metrics;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PasswordHashingStatsResponse {
+
+    private int poolSize;
+
+    private int activeThreads;
+
+    private int queueDepth;
+
+    private int queueCapacity;
+
+    private long completed;
+
+    private long rejected;
+
+}
@@ -1,8 +1,8 @@
 package com.project.schoolmanagment.payload.response.user;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
-import com.project.schoolmanagment.entity.concretes.business.LessonProgram;
 import com.project.schoolmanagment.payload.response.abstracts.BaseUserResponse;
+import com.project.schoolmanagment.payload.response.business.LessonProgramResponse;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -17,7 +17,7 @@ import java.util.Set;
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class TeacherResponse extends BaseUserResponse {
 
-    private Set<LessonProgram> lessonProgramSet;
+    private Set<LessonProgramResponse> lessonProgramSet;
 
     private boolean isAdvisorTeacher;
 
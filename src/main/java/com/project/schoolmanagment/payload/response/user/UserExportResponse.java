@@ -0,0 +1,47 @@
+package com.project.schoolmanagment.payload.response.user;
+
+import com.project.schoolmanagment.entity.enums.Gender;
+import com.project.schoolmanagment.entity.enums.RoleType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+//one flat export row, built by the query itself so no entity is loaded
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserExportResponse {
+
+    private Long userId;
+
+    private String username;
+
+    private String name;
+
+    private String surname;
+
+    private LocalDate birthDay;
+
+    private String ssn;
+
+    private String birthPlace;
+
+    private String phoneNumber;
+
+    private Gender gender;
+
+    private String email;
+
+    private RoleType userRole;
+
+    private Integer studentNumber;
+
+    private Boolean active;
+
+    private Boolean advisor;
+
+    private Long advisorTeacherId;
+
+}
@@ -1,22 +1,54 @@
 package com.project.schoolmanagment.repository.business;
 
 import com.project.schoolmanagment.entity.concretes.business.LessonProgram;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
 @Repository
 public interface LessonProgramRepository extends JpaRepository<LessonProgram, Long> {
 
+    //lessons and term are all LessonProgramMapper needs, fetched in the same query.
+    //the fetched lessons repeat a program once per lesson, DISTINCT gives every program once
+    @Override
+    @Query("SELECT DISTINCT l FROM LessonProgram l LEFT JOIN FETCH l.lessons LEFT JOIN FETCH l.educationTerm")
+    List<LessonProgram> findAll();
+
+    //a fetched collection would force paging in memory, lessons come in batches instead
+    @Override
+    @EntityGraph(attributePaths = {"educationTerm"})
+    Page<LessonProgram> findAll(Pageable pageable);
+
    // @Query("SELECT l FROM LessonProgram l WHERE l.users is empty")
-    List<LessonProgram> findByUsers_IdNull();
+    //distinct for the same reason as findAll, the users join repeats programs as well
+    @EntityGraph(attributePaths = {"lessons", "educationTerm"})
+    List<LessonProgram> findDistinctByUsers_IdNull();
+
+
+    @EntityGraph(attributePaths = {"lessons", "educationTerm"})
+    List<LessonProgram> findDistinctByUsers_IdNotNull();
 
 
-    List<LessonProgram> findByUsers_IdNotNull();
+    //lesson programs of a student or teacher with everything a timetable slot needs
+    @Query("SELECT DISTINCT l FROM LessonProgram l JOIN l.users u LEFT JOIN FETCH l.lessons " +
+            "LEFT JOIN FETCH l.educationTerm WHERE u.id = :userId")
+    List<LessonProgram> findAllByUserIdWithLessons(Long userId);
 
+    //weekly hours of the programs any of the users holds, only terms overlapping the date range
+    @Query("SELECT DISTINCT l.day AS day, l.startTime AS startTime, l.stopTime AS stopTime, " +
+            "t.startDate AS termStartDate, t.endDate AS termEndDate " +
+            "FROM LessonProgram l JOIN l.users u LEFT JOIN l.educationTerm t WHERE u.id IN :userIds " +
+            "AND (t.id IS NULL OR (t.startDate <= :endDate AND t.endDate >= :startDate))")
+    List<LessonProgramTimeView> findLessonProgramTimesOfUsers(Collection<Long> userIds, LocalDate startDate,
+                                                              LocalDate endDate);
 
     @Query("SELECT l from LessonProgram  l WHERE l.id IN :idSet")
     Set<LessonProgram> getLessonProgramByUsersUsername(Set<Long>idSet);
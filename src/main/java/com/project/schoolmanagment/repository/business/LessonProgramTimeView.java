@@ -0,0 +1,22 @@
+package com.project.schoolmanagment.repository.business;
+
+import com.project.schoolmanagment.entity.enums.Day;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+//weekly hours of a lesson program and the dates of its term, no entity is loaded
+public interface LessonProgramTimeView {
+
+    Day getDay();
+
+    LocalTime getStartTime();
+
+    LocalTime getStopTime();
+
+    //null when the program has no term
+    LocalDate getTermStartDate();
+
+    LocalDate getTermEndDate();
+
+}
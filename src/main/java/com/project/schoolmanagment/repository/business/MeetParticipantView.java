@@ -0,0 +1,12 @@
+package com.project.schoolmanagment.repository.business;
+
+//one row per meeting found through its advisor, studentId null, and one per meeting and attending student
+public interface MeetParticipantView {
+
+    Long getMeetId();
+
+    Long getAdvisorTeacherId();
+
+    Long getStudentId();
+
+}
@@ -0,0 +1,15 @@
+package com.project.schoolmanagment.repository.business;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+//date and hours of a meeting, no entity is loaded
+public interface MeetTimeView {
+
+    LocalDate getDate();
+
+    LocalTime getStartTime();
+
+    LocalTime getStopTime();
+
+}
@@ -7,6 +7,9 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -18,4 +21,36 @@ public interface MeetingRepository extends JpaRepository<Meet, Long> {
     List<Meet> findByAdvisoryTeacher_IdEquals(Long teacherId);
 
     Page<Meet> findByAdvisoryTeacher_IdEquals(Long userId, Pageable pageable);
+
+    //meetings the user advises or attends
+    @Query("SELECT DISTINCT m FROM Meet m LEFT JOIN m.studentList s WHERE m.advisoryTeacher.id = :userId OR s.id = :userId")
+    List<Meet> findAllByParticipantId(Long userId);
+
+    /**
+     * meetings on that date whose [startTime, stopTime) overlaps the range and that any of the users
+     * advises or attends, in a single query. one branch per role, so each starts from its own index:
+     * idx_meet_advisory_teacher_date for advisors, idx_meet_student_student_meet for students.
+     * advisor rows have no studentId, student rows only carry the attending users asked for
+     */
+    @Query(value = "SELECT m.id AS meetId, m.advisory_teacher_id AS advisorTeacherId, NULL AS studentId " +
+            "FROM meet m WHERE m.advisory_teacher_id IN (:userIds) AND m.date = :date " +
+            "AND m.start_time < :stopTime AND m.stop_time > :startTime AND m.id <> :excludedMeetId " +
+            "UNION " +
+            "SELECT m.id, m.advisory_teacher_id, ms.student_id " +
+            "FROM meet_student_table ms JOIN meet m ON m.id = ms.meet_id WHERE ms.student_id IN (:userIds) " +
+            "AND m.date = :date AND m.start_time < :stopTime AND m.stop_time > :startTime " +
+            "AND m.id <> :excludedMeetId", nativeQuery = true)
+    List<MeetParticipantView> findParticipantsOfOverlappingMeets(Collection<Long> userIds, LocalDate date,
+                                                                 LocalTime startTime, LocalTime stopTime,
+                                                                 Long excludedMeetId);
+
+    //hours of every meeting any of the users advises or attends in the date range, duplicates collapsed,
+    //one indexed branch per role like findParticipantsOfOverlappingMeets
+    @Query(value = "SELECT m.date AS date, m.start_time AS startTime, m.stop_time AS stopTime " +
+            "FROM meet m WHERE m.advisory_teacher_id IN (:userIds) AND m.date BETWEEN :startDate AND :endDate " +
+            "UNION " +
+            "SELECT m.date, m.start_time, m.stop_time " +
+            "FROM meet_student_table ms JOIN meet m ON m.id = ms.meet_id WHERE ms.student_id IN (:userIds) " +
+            "AND m.date BETWEEN :startDate AND :endDate", nativeQuery = true)
+    List<MeetTimeView> findMeetTimesOfUsers(Collection<Long> userIds, LocalDate startDate, LocalDate endDate);
 }
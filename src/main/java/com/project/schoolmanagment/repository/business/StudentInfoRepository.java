@@ -1,13 +1,20 @@
 package com.project.schoolmanagment.repository.business;
 
 import com.project.schoolmanagment.entity.concretes.business.StudentInfo;
+import com.project.schoolmanagment.payload.response.business.StudentInfoExportResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface StudentInfoRepository extends JpaRepository<StudentInfo, Long> {
@@ -27,4 +34,17 @@ public interface StudentInfoRepository extends JpaRepository<StudentInfo, Long>
     @Query("Select (count(s)>0) from StudentInfo s where s.student.id = ?1")
     boolean existByStudentId(Long studentId);
 
+    //students of the list who already have an info for this lesson
+    @Query("Select s.student.id from StudentInfo s where s.student.id in ?1 and s.lesson.lessonId = ?2")
+    List<Long> findStudentIdsWithLesson(Collection<Long> studentIds, Long lessonId);
+
+    //rows come from a server side cursor, has to be consumed inside a read only transaction
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("Select new com.project.schoolmanagment.payload.response.business.StudentInfoExportResponse(" +
+            "s.id, st.id, st.username, st.studentNumber, l.lessonName, l.creditScore, t.term, t.startDate, " +
+            "s.midtermExam, s.finalExam, s.examAverage, s.letterGrade, s.absentee, te.username) " +
+            "from StudentInfo s join s.student st join s.lesson l left join s.educationTerm t left join s.teacher te " +
+            "order by s.id")
+    Stream<StudentInfoExportResponse> streamAllForExport();
+
 }
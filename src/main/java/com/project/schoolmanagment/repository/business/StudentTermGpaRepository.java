@@ -0,0 +1,18 @@
+package com.project.schoolmanagment.repository.business;
+
+import com.project.schoolmanagment.entity.concretes.business.StudentTermGpa;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StudentTermGpaRepository extends JpaRepository<StudentTermGpa, Long> {
+
+    @EntityGraph(attributePaths = "educationTerm")
+    @Query("Select g from StudentTermGpa g where g.student.id = ?1 order by g.educationTerm.startDate")
+    List<StudentTermGpa> findByStudentId(Long studentId);
+
+}
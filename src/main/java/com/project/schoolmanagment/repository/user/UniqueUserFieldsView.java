@@ -0,0 +1,14 @@
+package com.project.schoolmanagment.repository.user;
+
+//projection of the user columns that must be unique, no entity is loaded
+public interface UniqueUserFieldsView {
+
+    String getUsername();
+
+    String getSsn();
+
+    String getPhoneNumber();
+
+    String getEmail();
+
+}
@@ -0,0 +1,14 @@
+package com.project.schoolmanagment.repository.user;
+
+//one row per user and lesson program, lessonProgramId is null for users without any
+public interface UserLessonProgramView {
+
+    Long getUserId();
+
+    String getUsername();
+
+    boolean isActive();
+
+    Long getLessonProgramId();
+
+}
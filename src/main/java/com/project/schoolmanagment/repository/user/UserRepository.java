@@ -2,26 +2,27 @@ package com.project.schoolmanagment.repository.user;
 
 import com.project.schoolmanagment.entity.concretes.user.User;
 import com.project.schoolmanagment.entity.enums.RoleType;
+import com.project.schoolmanagment.payload.response.user.UserExportResponse;
 import com.project.schoolmanagment.payload.response.user.UserResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
     boolean existsByUsername(String username);
 
-    boolean existsBySsn(String ssn);
-
-    boolean existsByPhoneNumber(String phoneNumber);
-
-    boolean existsByEmail(String email);
-
     @Query("SELECT u FROM User u WHERE u.userRole.roleName = :userRole")
     Page<User> findUserByRole(String userRole, Pageable pageable);
 
@@ -38,16 +39,38 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     List<User> findByAdvisorTeacherId(Long id);
 
-    @Query(value = "select (count (u)>0) from User u where u.userRole.roleType = ?1")
-    boolean findUsersByRoleType(RoleType roleType);
-
-    @Query("Select max (u.studentNumber) from User u")
-    int getMaxStudentNumber();
-
-
-    @Query("Select u from User u where u.id in :userIds")
+    //roles come in the same query, checking them costs nothing
+    @Query("Select u from User u left join fetch u.userRole where u.id in :userIds")
     List<User> findUsersByIdArray(Long[] userIds);
 
+    //one round trip for the uniqueness check of a single user or a whole batch
+    @Query("SELECT u.username AS username, u.ssn AS ssn, u.phoneNumber AS phoneNumber, u.email AS email FROM User u " +
+            "WHERE u.username IN :usernames OR u.ssn IN :ssns OR u.phoneNumber IN :phoneNumbers OR u.email IN :emails")
+    List<UniqueUserFieldsView> findUniqueFieldsIn(Collection<String> usernames,
+                                                  Collection<String> ssns,
+                                                  Collection<String> phoneNumbers,
+                                                  Collection<String> emails);
+
+    //lesson program ids of every user of a role, without loading users or programs
+    @Query("SELECT u.id AS userId, u.username AS username, u.isActive AS active, l.id AS lessonProgramId " +
+            "FROM User u LEFT JOIN u.lessonProgramList l WHERE u.userRole.roleType = :roleType ORDER BY u.id")
+    List<UserLessonProgramView> findLessonProgramIdsByRoleType(RoleType roleType);
+
+    //rows come from a server side cursor, has to be consumed inside a read only transaction
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.project.schoolmanagment.payload.response.user.UserExportResponse(" +
+            "u.id, u.username, u.name, u.surname, u.birthDay, u.ssn, u.birthPlace, u.phoneNumber, u.gender, u.email, " +
+            "r.roleType, u.studentNumber, u.isActive, u.isAdvisor, u.advisorTeacherId) " +
+            "FROM User u LEFT JOIN u.userRole r ORDER BY u.id")
+    Stream<UserExportResponse> streamAllForExport();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.project.schoolmanagment.payload.response.user.UserExportResponse(" +
+            "u.id, u.username, u.name, u.surname, u.birthDay, u.ssn, u.birthPlace, u.phoneNumber, u.gender, u.email, " +
+            "r.roleType, u.studentNumber, u.isActive, u.isAdvisor, u.advisorTeacherId) " +
+            "FROM User u JOIN u.userRole r WHERE r.roleType = :roleType ORDER BY u.id")
+    Stream<UserExportResponse> streamAllForExportByRole(RoleType roleType);
+
 
 
 
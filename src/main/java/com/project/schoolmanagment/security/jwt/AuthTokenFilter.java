@@ -1,10 +1,12 @@
 package com.project.schoolmanagment.security.jwt;
 
-import com.project.schoolmanagment.security.service.UserDetailsServiceImpl;
+import com.project.schoolmanagment.security.service.UserDetailsCache;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -30,7 +32,11 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     private JwtUtils jwtUtils;
 
     @Autowired
-    private UserDetailsServiceImpl userDetailsService;
+    private UserDetailsCache userDetailsCache;
+
+    //when true the principal is built from token claims only, DB is not touched
+    @Value("${backendapi.app.jwtStateless}")
+    private boolean statelessMode;
 
 
     @Override
@@ -41,14 +47,24 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         try{
             //1- get jwt from header
             String jwt = parseJwt(request);
-            //2- validate jwt
-            if(jwt!=null&& jwtUtils.validateJwt(jwt)){
+            //2- validate jwt and extract its claims in one parse
+            Claims claims = jwt == null ? null : jwtUtils.parseAndValidateJwt(jwt);
+            if(claims!=null){
 
                 //3- we need username
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
-
-                //4-check DB if we have user like that and extend it to UserDetails
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                String username = claims.getSubject();
+
+                //tokens issued before logout or password change are rejected
+                if(!jwtUtils.isTokenVersionCurrent(claims)){
+                    LOGGER.error("Jwt token is revoked for user : {}", username);
+                    filterChain.doFilter(request,response);
+                    return;
+                }
+
+                //4-build UserDetails from claims, or check cache (or DB on a miss) if we have user like that
+                UserDetails userDetails = statelessMode
+                        ? jwtUtils.getUserDetailsFromClaims(claims)
+                        : userDetailsCache.loadUserByUsername(username);
 
                 //5- we are setting the username info into the username attribute
                 request.setAttribute("username",username);
@@ -1,14 +1,25 @@
 package com.project.schoolmanagment.security.jwt;
 
+import com.project.schoolmanagment.security.service.TokenVersionRegistry;
 import com.project.schoolmanagment.security.service.UserDetailsImpl;
+import com.project.schoolmanagment.service.helper.BoundedCache;
 import io.jsonwebtoken.*;
 
+import io.jsonwebtoken.impl.TextCodec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PostConstruct;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 
 
@@ -17,6 +28,23 @@ public class JwtUtils {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(JwtUtils.class);
 
+    public static final String CLAIM_ID = "id";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_IS_ADVISOR = "isAdvisor";
+    public static final String CLAIM_VERSION = "ver";
+
+    private final TokenVersionRegistry tokenVersionRegistry;
+
+    //sha-256 of recently verified tokens -> their claims
+    private final BoundedCache<String, Claims> verifiedTokens;
+
+    public JwtUtils(TokenVersionRegistry tokenVersionRegistry,
+                    @Value("${backendapi.app.jwtCache.maxSize}") int verifiedTokenCacheSize) {
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        //expiration is checked per token, so entries do not need their own ttl
+        this.verifiedTokens = new BoundedCache<>(verifiedTokenCacheSize, 0);
+    }
+
 
     @Value("${backendapi.app.jwtExpirationMs}")
     private long jwtExpirations;
@@ -24,15 +52,71 @@ public class JwtUtils {
     @Value("schoolmanagementproject")
     private String jwtSecret;
 
+    private SecretKey signingKey;
+
+    //jjwt treats a String key as base64, decoding it once here keeps the tokens compatible
+    @PostConstruct
+    public void initSigningKey(){
+        signingKey = new SecretKeySpec(TextCodec.BASE64.decode(jwtSecret), SignatureAlgorithm.HS512.getJcaName());
+    }
+
     public String generateJwtToken(Authentication authentication){
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-        return generateTokenFromUsername(userDetails.getUsername());
+        return generateTokenFromUserDetails(userDetails);
+    }
+
+    //claims are enough to rebuild UserDetailsImpl without DB access in stateless mode.
+    //a jwt is only signed, anyone holding it can read the claims, so personal data (name, ssn) stays out
+    public String generateTokenFromUserDetails(UserDetailsImpl userDetails){
+        String role = userDetails.getAuthorities()
+                .stream()
+                .map(GrantedAuthority::getAuthority)
+                .findFirst()
+                .orElse(null);
+
+        return Jwts.builder()
+                .setSubject(userDetails.getUsername())
+                .claim(CLAIM_ID, userDetails.getId())
+                .claim(CLAIM_ROLE, role)
+                .claim(CLAIM_IS_ADVISOR, userDetails.getIsAdvisor())
+                .claim(CLAIM_VERSION, tokenVersionRegistry.getCurrentVersion(userDetails.getUsername()))
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(new Date().getTime()+ jwtExpirations))
+                .signWith(SignatureAlgorithm.HS512,signingKey)
+                .compact();
     }
 
     public boolean validateJwt(String jwtToken){
+        return parseAndValidateJwt(jwtToken) != null;
+    }
+
+    /**
+     * validates the signature and expiration of the token and extracts its claims in one parse.
+     * tokens verified before are served from an LRU without parsing again
+     * @param jwtToken without Bearer prefix
+     * @return claims of the token, null if the token is not valid
+     */
+    public Claims parseAndValidateJwt(String jwtToken){
+        if(jwtToken == null || jwtToken.isEmpty()){
+            LOGGER.error("Jwt is empty");
+            return null;
+        }
+
+        String tokenHash = hash(jwtToken);
+        Claims cachedClaims = verifiedTokens.get(tokenHash);
+        if(cachedClaims != null){
+            if(cachedClaims.getExpiration() != null && cachedClaims.getExpiration().before(new Date())){
+                verifiedTokens.evict(tokenHash);
+                LOGGER.error("Jwt token is expired : {}", cachedClaims.getExpiration());
+                return null;
+            }
+            return cachedClaims;
+        }
+
         try {
-            Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(jwtToken);
-            return true;
+            Claims claims = Jwts.parser().setSigningKey(signingKey).parseClaimsJws(jwtToken).getBody();
+            verifiedTokens.put(tokenHash, claims);
+            return claims;
         }catch(ExpiredJwtException e){
             LOGGER.error("Jwt token is expired : {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
@@ -44,7 +128,17 @@ public class JwtUtils {
         } catch (IllegalArgumentException e) {
             LOGGER.error("Jwt is empty : {}", e.getMessage());
         }
-        return false;
+        return null;
+    }
+
+    private String hash(String jwtToken){
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(jwtToken.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            //every JVM has to support SHA-256
+            throw new IllegalStateException(e);
+        }
     }
 
     public String generateTokenFromUsername(String username){
@@ -52,15 +146,44 @@ public class JwtUtils {
                 .setSubject(username)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(new Date().getTime()+ jwtExpirations))
-                .signWith(SignatureAlgorithm.HS512,jwtSecret)
+                .signWith(SignatureAlgorithm.HS512,signingKey)
                 .compact();
     }
 
     public String getUserNameFromJwtToken(String token){
-        return Jwts.parser()
-                .setSigningKey(jwtSecret)
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        Claims claims = parseAndValidateJwt(token);
+        return claims == null ? null : claims.getSubject();
+    }
+
+    public BoundedCache<String, Claims> getVerifiedTokenCache(){
+        return verifiedTokens;
+    }
+
+    /**
+     * tokens issued before a logout or password change carry an older version
+     * @param claims of a validated token
+     * @return false if the token has been revoked
+     */
+    public boolean isTokenVersionCurrent(Claims claims){
+        Integer version = claims.get(CLAIM_VERSION, Integer.class);
+        //tokens issued before versioning are treated as version 0
+        return tokenVersionRegistry.isCurrent(claims.getSubject(), version == null ? 0 : version);
+    }
+
+    /**
+     * builds the principal purely from signed claims, no DB access
+     * @param claims of a validated token
+     * @return principal without password, name and ssn, they are read from the DB where needed
+     */
+    public UserDetailsImpl getUserDetailsFromClaims(Claims claims){
+        return new UserDetailsImpl(
+                claims.get(CLAIM_ID, Long.class),
+                claims.getSubject(),
+                null,
+                claims.get(CLAIM_IS_ADVISOR, Boolean.class),
+                null,
+                claims.get(CLAIM_ROLE, String.class),
+                (String) null
+        );
     }
 }
@@ -0,0 +1,148 @@
+package com.project.schoolmanagment.security.service;
+
+import com.project.schoolmanagment.exception.TooManyRequestsException;
+import com.project.schoolmanagment.payload.messages.ErrorMessages;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs every hash and verification of the delegate on the given executor and waits for it.
+ * The caller blocks like before, but only as many hashes run at once as the executor has threads.
+ * At most threads + queueCapacity hashes are admitted at once, further calls are rejected with 429
+ * instead of waiting. Bulk hashing waits for a free slot instead, and never takes more than one slot
+ * per thread, so logins still find room in the queue during an import.
+ */
+public class ExecutorPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+
+    private final Executor executor;
+
+    private final int threads;
+
+    private final int queueCapacity;
+
+    //one permit per admitted hash, running or waiting
+    private final Semaphore permits;
+
+    private final LongAdder rejected = new LongAdder();
+
+    public ExecutorPasswordEncoder(PasswordEncoder delegate, Executor executor, int threads, int queueCapacity) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.threads = threads;
+        this.queueCapacity = queueCapacity;
+        this.permits = new Semaphore(threads + queueCapacity);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        //only parses the hash prefix, not worth a hop to the executor
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * hashes the passwords of an import, waits for free slots instead of failing with 429
+     * @param rawPasswords passwords to hash
+     * @return the hashes, in the order of the passwords
+     */
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        List<String> encodedPasswords = new ArrayList<>(rawPasswords.size());
+        Deque<FutureTask<String>> inFlight = new ArrayDeque<>();
+        try {
+            for (CharSequence rawPassword : rawPasswords) {
+                if (inFlight.size() == threads) {
+                    encodedPasswords.add(awaitAndRelease(inFlight.poll()));
+                }
+                acquire();
+                inFlight.add(submit(() -> delegate.encode(rawPassword)));
+            }
+            while (!inFlight.isEmpty()) {
+                encodedPasswords.add(awaitAndRelease(inFlight.poll()));
+            }
+            return encodedPasswords;
+        } finally {
+            //only left after a failure, the remaining hashes are not needed any more
+            for (FutureTask<String> future : inFlight) {
+                future.cancel(true);
+                permits.release();
+            }
+        }
+    }
+
+    private <T> T run(Callable<T> task) {
+        if (!permits.tryAcquire()) {
+            rejected.increment();
+            throw new TooManyRequestsException(ErrorMessages.PASSWORD_HASHING_BUSY_MESSAGE);
+        }
+        return awaitAndRelease(submit(task));
+    }
+
+    //called with a permit, gives it back if the executor does not take the task
+    private <T> FutureTask<T> submit(Callable<T> task) {
+        FutureTask<T> future = new FutureTask<>(task);
+        try {
+            executor.execute(future);
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            rejected.increment();
+            throw new TooManyRequestsException(ErrorMessages.PASSWORD_HASHING_BUSY_MESSAGE);
+        }
+        return future;
+    }
+
+    private <T> T awaitAndRelease(FutureTask<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void acquire() {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        }
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+}
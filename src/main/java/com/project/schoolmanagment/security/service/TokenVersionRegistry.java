@@ -0,0 +1,31 @@
+package com.project.schoolmanagment.security.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In memory revocation table for jwt tokens.
+ * Every token carries the version of its user at login time,
+ * tokens with an older version than the current one are rejected.
+ * Versions are not persisted, a restart accepts all unexpired tokens again.
+ */
+@Component
+public class TokenVersionRegistry {
+
+    private final Map<String, Integer> versions = new ConcurrentHashMap<>();
+
+    public int getCurrentVersion(String username) {
+        return versions.getOrDefault(username, 0);
+    }
+
+    //invalidates every token issued to this user so far (logout, password change)
+    public void revokeAll(String username) {
+        versions.merge(username, 1, Integer::sum);
+    }
+
+    public boolean isCurrent(String username, int tokenVersion) {
+        return tokenVersion >= getCurrentVersion(username);
+    }
+}
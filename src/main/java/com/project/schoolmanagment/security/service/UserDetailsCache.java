@@ -0,0 +1,41 @@
+package com.project.schoolmanagment.security.service;
+
+import com.project.schoolmanagment.service.helper.BoundedCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+//keeps authenticated principals in memory so AuthTokenFilter does not hit t_user on every request
+@Component
+public class UserDetailsCache {
+
+    private final BoundedCache<String, UserDetails> cache;
+
+    private final UserDetailsServiceImpl userDetailsService;
+
+    public UserDetailsCache(UserDetailsServiceImpl userDetailsService,
+                            @Value("${backendapi.app.principalCache.maxSize}") int maxSize,
+                            @Value("${backendapi.app.principalCache.ttlMs}") long ttlMs) {
+        this.userDetailsService = userDetailsService;
+        this.cache = new BoundedCache<>(maxSize, ttlMs);
+    }
+
+    /**
+     * @param username from jwt
+     * @return cached principal, or the one loaded from DB on a miss
+     */
+    public UserDetails loadUserByUsername(String username) {
+        return cache.get(username, userDetailsService::loadUserByUsername);
+    }
+
+    //should be called whenever password, username, role or status of a user changes
+    public void evict(String username) {
+        if (username != null) {
+            cache.evict(username);
+        }
+    }
+
+    public BoundedCache<String, UserDetails> getCache() {
+        return cache;
+    }
+}
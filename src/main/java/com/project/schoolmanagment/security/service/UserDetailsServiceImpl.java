@@ -8,11 +8,12 @@ import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 
 @Service
 @AllArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -20,17 +21,35 @@ public class UserDetailsServiceImpl implements UserDetailsService {
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         User user = userRepository.findByUsername(username);
         if(user!=null){
-            return new UserDetailsImpl(
-                    user.getId(),
-                    user.getUsername(),
-                    user.getName(),
-                    false,
-                    user.getPassword(),
-                    user.getUserRole().getRoleType().name(),
-                    user.getSsn()
-            );
+            return mapUserToUserDetails(user);
         }
 
         throw new UsernameNotFoundException("User: "+username+" not found.");
     }
+
+    /**
+     * called by DaoAuthenticationProvider after a successful login when the stored hash
+     * was made with a lower strength than the configured one, the password itself does not change
+     * so issued tokens stay valid
+     * @param newPassword the login password hashed with the current strength
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByUsername(userDetails.getUsername());
+        user.setPassword(newPassword);
+        return mapUserToUserDetails(user);
+    }
+
+    private UserDetails mapUserToUserDetails(User user) {
+        return new UserDetailsImpl(
+                user.getId(),
+                user.getUsername(),
+                user.getName(),
+                Boolean.TRUE.equals(user.getIsAdvisor()),
+                user.getPassword(),
+                user.getUserRole().getRoleType().name(),
+                user.getSsn()
+        );
+    }
 }
@@ -12,6 +12,7 @@ import com.project.schoolmanagment.payload.response.abstracts.ResponseMessage;
 import com.project.schoolmanagment.payload.response.business.EducationTermResponse;
 import com.project.schoolmanagment.repository.business.EducationTermRepository;
 import com.project.schoolmanagment.service.helper.PageableHelper;
+import com.project.schoolmanagment.service.helper.ReferenceDataCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -32,6 +33,8 @@ public class EducationTermService {
     private final EducationTermRepository educationTermRepository;
     private final EducationTermMapper educationTermMapper;
     private final PageableHelper pageableHelper;
+    private final ReferenceDataCache referenceDataCache;
+    private final TimetableService timetableService;
 
 
     public ResponseMessage<EducationTermResponse> saveEducationTerm(EducationTermRequest educationTermRequest) {
@@ -39,6 +42,7 @@ public class EducationTermService {
 
         EducationTerm savedEducationTerm = educationTermRepository
                 .save(educationTermMapper.mapEducationTermRequestToEducationTerm(educationTermRequest));
+        referenceDataCache.getEducationTerms().put(savedEducationTerm.getId(), savedEducationTerm);
 
         return ResponseMessage.<EducationTermResponse>builder()
                 .message(SuccessMessages.EDUCATION_TERM_SAVE)
@@ -96,11 +100,21 @@ public class EducationTermService {
 
     }
 
+    //served from memory, lesson program and StudentInfo saves look up the term every time
     public EducationTerm isEducationTermExist(Long id){
 
-        return educationTermRepository.findById(id)
-                .orElseThrow(()->new ResourceNotFoundException(String.format(ErrorMessages.EDUCATION_TERM_NOT_FOUND_MESSAGE, id)));
+        EducationTerm educationTerm = referenceDataCache.getEducationTerms()
+                .get(id, termId -> educationTermRepository.findById(termId).orElse(null));
+        if(educationTerm == null){
+            throw new ResourceNotFoundException(String.format(ErrorMessages.EDUCATION_TERM_NOT_FOUND_MESSAGE, id));
+        }
+        return educationTerm;
+
+    }
 
+    public void warmUpCache(){
+        educationTermRepository.findAll()
+                .forEach(educationTerm -> referenceDataCache.getEducationTerms().put(educationTerm.getId(), educationTerm));
     }
 
     public ResponseMessage<EducationTermResponse> updateEducationTerm(Long id, EducationTermRequest educationTermRequest) {
@@ -112,6 +126,9 @@ public class EducationTermService {
 
         EducationTerm updatedEducationTerm = educationTermRepository.save(
                 educationTermMapper.mapEducationTermRequestToEducationTermForUpdate(id, educationTermRequest));
+        referenceDataCache.getEducationTerms().put(id, updatedEducationTerm);
+        //term dates decide which weeks show its lesson programs
+        timetableService.evictAll();
 
 
 
@@ -128,6 +145,8 @@ public class EducationTermService {
 
         isEducationTermExist(id);
         educationTermRepository.deleteById(id);
+        referenceDataCache.getEducationTerms().evict(id);
+        timetableService.evictAll();
         return ResponseMessage.builder()
                 .message(SuccessMessages.EDUCATION_TERM_DELETE)
                 .httpStatus(HttpStatus.OK)
@@ -3,6 +3,7 @@ package com.project.schoolmanagment.service.business;
 import com.project.schoolmanagment.entity.concretes.business.EducationTerm;
 import com.project.schoolmanagment.entity.concretes.business.Lesson;
 import com.project.schoolmanagment.entity.concretes.business.LessonProgram;
+import com.project.schoolmanagment.entity.concretes.user.User;
 import com.project.schoolmanagment.exception.BadRequestException;
 import com.project.schoolmanagment.exception.ResourceNotFoundException;
 import com.project.schoolmanagment.payload.mappers.LessonProgramMapper;
@@ -19,6 +20,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Set;
@@ -34,6 +36,7 @@ public class LessonProgramService {
     private final DateTimeValidator dateTimeValidator;
     private final LessonProgramMapper lessonProgramMapper;
     private final PageableHelper pageableHelper;
+    private final TimetableService timetableService;
 
 
     public ResponseMessage<LessonProgramResponse> saveLessonProgram(LessonProgramRequest lessonProgramRequest) {
@@ -64,6 +67,7 @@ public class LessonProgramService {
 
     }
 
+    @Transactional(readOnly = true)
     public List<LessonProgramResponse> getAllLessonProgramsByList() {
 
         return lessonProgramRepository
@@ -74,6 +78,8 @@ public class LessonProgramService {
 
     }
 
+    //mapped inside the transaction, lessons and terms of the page are batch loaded
+    @Transactional(readOnly = true)
     public Page<LessonProgramResponse> getAllLessonProgramsByPage(int page, int size, String sort, String type) {
 
         Pageable pageable = pageableHelper.getPageableWithProperties(page,size,sort,type);
@@ -83,6 +89,7 @@ public class LessonProgramService {
 
     }
 
+    @Transactional(readOnly = true)
     public LessonProgramResponse getLessonProgramById(Long id) {
 
         LessonProgram lessonProgram = isLessonProgramExistById(id);
@@ -97,18 +104,19 @@ public class LessonProgramService {
         return lessonProgramRepository.findById(id).orElseThrow(()->new ResourceNotFoundException(String.format(ErrorMessages.NOT_FOUND_LESSON_PROGRAM_MESSAGE, id)));
     }
 
+    @Transactional(readOnly = true)
     public List<LessonProgramResponse> getAllUnassigned() {
 
-        return lessonProgramRepository.findByUsers_IdNull()
+        return lessonProgramRepository.findDistinctByUsers_IdNull()
                 .stream()
                 .map(lessonProgramMapper::mapLessonProgramToLessonProgramResponse)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<LessonProgramResponse> getAllLessonProgramsAssigned(){
-        return lessonProgramRepository.findByUsers_IdNotNull()
+        return lessonProgramRepository.findDistinctByUsers_IdNotNull()
                 .stream()
-                .distinct()
                 .map(lessonProgramMapper::mapLessonProgramToLessonProgramResponse)
                 .collect(Collectors.toList());
 
@@ -116,9 +124,15 @@ public class LessonProgramService {
 
     public ResponseMessage deleteById(Long id) {
 
-        isLessonProgramExistById(id);
+        LessonProgram lessonProgram = isLessonProgramExistById(id);
+        //read before the delete, the pre remove hook detaches the users
+        List<Long> userIds = lessonProgram.getUsers()
+                .stream()
+                .map(User::getId)
+                .collect(Collectors.toList());
 
         lessonProgramRepository.deleteById(id);
+        timetableService.evict(userIds);
 
         return ResponseMessage.builder()
                 .message(SuccessMessages.LESSON_PROGRAM_DELETE)
@@ -132,8 +146,13 @@ public class LessonProgramService {
 
         Set<LessonProgram> lessonPrograms = lessonProgramRepository.getLessonProgramByUsersUsername(lessonIdSet);
 
-        if(lessonPrograms.isEmpty()){
-            throw new BadRequestException(ErrorMessages.NOT_FOUND_LESSON_PROGRAM_MESSAGE);
+        //report every id that is not in DB instead of silently dropping it
+        Set<Long> foundIds = lessonPrograms.stream().map(LessonProgram::getId).collect(Collectors.toSet());
+        List<Long> missingIds = lessonIdSet.stream()
+                .filter(id -> !foundIds.contains(id))
+                .collect(Collectors.toList());
+        if(lessonPrograms.isEmpty() || !missingIds.isEmpty()){
+            throw new BadRequestException(String.format(ErrorMessages.NOT_FOUND_LESSON_PROGRAM_MESSAGE, missingIds));
         }
 
         return lessonPrograms;
@@ -8,15 +8,21 @@ import com.project.schoolmanagment.payload.messages.ErrorMessages;
 import com.project.schoolmanagment.payload.messages.SuccessMessages;
 import com.project.schoolmanagment.payload.request.business.LessonRequest;
 import com.project.schoolmanagment.payload.response.abstracts.ResponseMessage;
+import com.project.schoolmanagment.payload.response.abstracts.SliceResponse;
 import com.project.schoolmanagment.payload.response.business.LessonResponse;
 import com.project.schoolmanagment.repository.business.LessonRepository;
+import com.project.schoolmanagment.service.helper.KeysetPageHelper;
 import com.project.schoolmanagment.service.helper.PageableHelper;
+import com.project.schoolmanagment.service.helper.ReferenceDataCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -27,6 +33,10 @@ public class LessonService {
     private final LessonRepository lessonRepository;
     private final LessonMapper lessonMapper;
     private final PageableHelper pageableHelper;
+    private final KeysetPageHelper keysetPageHelper;
+    private final ReferenceDataCache referenceDataCache;
+    private final TranscriptService transcriptService;
+    private final TimetableService timetableService;
 
     public ResponseMessage<LessonResponse> saveLesson(LessonRequest lessonRequest) {
 
@@ -36,6 +46,7 @@ public class LessonService {
         Lesson lesson = lessonMapper.mapLessonRequestToLesson(lessonRequest);
 
         Lesson savedLesson = lessonRepository.save(lesson);
+        referenceDataCache.getLessons().put(savedLesson.getLessonId(), savedLesson);
 
         return ResponseMessage.<LessonResponse>builder()
                 .object(lessonMapper.mapLessonToLessonResponse(savedLesson))
@@ -66,6 +77,8 @@ public class LessonService {
         isLessonExistById(id);
 
         lessonRepository.deleteById(id);
+        referenceDataCache.getLessons().evict(id);
+        timetableService.evictAll();
 
         return ResponseMessage.builder()
                 .message(SuccessMessages.LESSON_DELETE)
@@ -73,10 +86,19 @@ public class LessonService {
                 .build();
     }
 
+    //served from memory, StudentInfo saves look up the lesson every time
     public Lesson isLessonExistById(Long id){
 
-        return lessonRepository.findById(id)
-                .orElseThrow(()->new ResourceNotFoundException(String.format(ErrorMessages.NOT_FOUND_LESSON_MESSAGE, id)));
+        Lesson lesson = referenceDataCache.getLessons()
+                .get(id, lessonId -> lessonRepository.findById(lessonId).orElse(null));
+        if(lesson == null){
+            throw new ResourceNotFoundException(String.format(ErrorMessages.NOT_FOUND_LESSON_MESSAGE, id));
+        }
+        return lesson;
+    }
+
+    public void warmUpCache(){
+        lessonRepository.findAll().forEach(lesson -> referenceDataCache.getLessons().put(lesson.getLessonId(), lesson));
     }
 
 
@@ -107,11 +129,25 @@ public class LessonService {
         return lessonRepository.findAll(pageable).map(lessonMapper::mapLessonToLessonResponse);
     }
 
+    public SliceResponse<LessonResponse> getAllLessonsByCursor(String cursor, int size, String sort, String type,
+                                                               boolean withTotal) {
+        return keysetPageHelper.getSlice(Lesson.class, null, sort, type, cursor, size, withTotal)
+                .map(lessonMapper::mapLessonToLessonResponse);
+    }
+
     public Set<Lesson> getAllLessonsByLessonId(Set<Long> idSet) {
 
-       return idSet.stream()
-               .map(this::isLessonExistById)
-               .collect(Collectors.toSet());
+        //one query for all ids instead of a findById per lesson
+        Set<Lesson> lessons = new HashSet<>(lessonRepository.findAllById(idSet));
+
+        Set<Long> foundIds = lessons.stream().map(Lesson::getLessonId).collect(Collectors.toSet());
+        List<Long> missingIds = idSet.stream()
+                .filter(id -> !foundIds.contains(id))
+                .collect(Collectors.toList());
+        if(!missingIds.isEmpty()){
+            throw new ResourceNotFoundException(String.format(ErrorMessages.NOT_FOUND_LESSON_MESSAGE, missingIds));
+        }
+        return lessons;
 
     }
 
@@ -130,6 +166,7 @@ public class LessonService {
 
     }
 
+    @Transactional
     public LessonResponse updateLesson(Long lessonId, LessonRequest lessonRequest) {
         //does it exist
         Lesson lesson = isLessonExistById(lessonId);
@@ -145,7 +182,13 @@ public class LessonService {
         updatedLesson.setLessonId(lesson.getLessonId());
         //since we don't have LessonProgram in mapper
         updatedLesson.setLessonPrograms(lesson.getLessonPrograms());
+        //transcripts move by the difference of the old and new credit
+        Integer oldCreditScore = lesson.getCreditScore();
         Lesson savedLesson = lessonRepository.save(updatedLesson);
+        referenceDataCache.getLessons().put(savedLesson.getLessonId(), savedLesson);
+        transcriptService.applyCreditChange(savedLesson.getLessonId(), oldCreditScore, savedLesson.getCreditScore());
+        //lesson names are part of every timetable holding this lesson
+        timetableService.evictAll();
 
         return lessonMapper.mapLessonToLessonResponse(savedLesson);
 
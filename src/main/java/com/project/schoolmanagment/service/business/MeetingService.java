@@ -4,15 +4,22 @@ import com.project.schoolmanagment.entity.concretes.business.Meet;
 import com.project.schoolmanagment.entity.concretes.user.User;
 import com.project.schoolmanagment.entity.enums.RoleType;
 import com.project.schoolmanagment.exception.BadRequestException;
-import com.project.schoolmanagment.exception.ConflictException;
+import com.project.schoolmanagment.exception.MeetConflictException;
 import com.project.schoolmanagment.exception.ResourceNotFoundException;
 import com.project.schoolmanagment.payload.mappers.MeetingMapper;
 import com.project.schoolmanagment.payload.messages.ErrorMessages;
 import com.project.schoolmanagment.payload.messages.SuccessMessages;
 import com.project.schoolmanagment.payload.request.business.MeetingRequest;
 import com.project.schoolmanagment.payload.response.abstracts.ResponseMessage;
+import com.project.schoolmanagment.payload.response.abstracts.SliceResponse;
+import com.project.schoolmanagment.payload.response.business.MeetConflictResponse;
 import com.project.schoolmanagment.payload.response.business.MeetingResponse;
+import com.project.schoolmanagment.payload.response.business.MeetSlotResponse;
+import com.project.schoolmanagment.repository.business.LessonProgramRepository;
+import com.project.schoolmanagment.repository.business.MeetParticipantView;
 import com.project.schoolmanagment.repository.business.MeetingRepository;
+import com.project.schoolmanagment.service.helper.KeysetPageHelper;
+import com.project.schoolmanagment.service.helper.MeetSlotFinder;
 import com.project.schoolmanagment.service.helper.MethodHelper;
 import com.project.schoolmanagment.service.helper.PageableHelper;
 import com.project.schoolmanagment.service.user.UserService;
@@ -27,7 +34,8 @@ import org.springframework.stereotype.Service;
 import javax.servlet.http.HttpServletRequest;
 import java.time.LocalDate;
 import java.time.LocalTime;
-import java.util.List;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
@@ -40,6 +48,18 @@ public class MeetingService {
     private final DateTimeValidator dateTimeValidator;
     private final MeetingMapper meetingMapper;
     private final PageableHelper pageableHelper;
+    private final KeysetPageHelper keysetPageHelper;
+    private final TimetableService timetableService;
+    private final LessonProgramRepository lessonProgramRepository;
+    private final MeetSlotFinder meetSlotFinder;
+
+    //id that no meeting has, used when there is no meeting to exclude from the checks
+    private static final Long NO_MEET_ID = 0L;
+
+    //free slots are searched in two weeks unless an end date is given, at most in about two months
+    private static final int DEFAULT_SLOT_SEARCH_DAYS = 14;
+    private static final int MAX_SLOT_SEARCH_DAYS = 62;
+    private static final int MAX_SUGGESTED_SLOTS = 50;
 
     public ResponseMessage<MeetingResponse> saveMeeting(HttpServletRequest request, MeetingRequest meetingRequest) {
 
@@ -51,16 +71,16 @@ public class MeetingService {
 
         dateTimeValidator.checkTimeWithException(meetingRequest.getStartTime(), meetingRequest.getStopTime());
 
+        List<User> students = userService.findUsersByIdArray(meetingRequest.getStudentIds());
+
+        methodHelper.checkRoles(students, RoleType.STUDENT);
+
         checkMeetingConflicts(  advisorTeacher.getId(),
+                                getIds(students),
                                 meetingRequest.getDate(),
                                 meetingRequest.getStartTime(),
-                                meetingRequest.getStopTime());
-
-        List<User> students = userService.findUsersByIdArray(meetingRequest.getStudentIds());
-
-        for(User student : students){
-            methodHelper.checkRole(student,RoleType.STUDENT);
-        }
+                                meetingRequest.getStopTime(),
+                                NO_MEET_ID);
 
         Meet meet = meetingMapper.mapMeetRequestToMeet(meetingRequest);
 
@@ -68,6 +88,7 @@ public class MeetingService {
         meet.setAdvisoryTeacher(advisorTeacher);
 
         Meet savedMeet = meetingRepository.save(meet);
+        timetableService.evict(getParticipantIds(savedMeet));
 
         return ResponseMessage.<MeetingResponse>builder()
                 .message(SuccessMessages.MEET_SAVE)
@@ -82,36 +103,81 @@ public class MeetingService {
     }
 
 
-    private void checkMeetingConflicts(Long userId, LocalDate date, LocalTime startTime, LocalTime stopTime){
+    /**
+     * overlap check runs in DB with one query for the advisor and all students, only meetings of that date are touched
+     * @param excludedMeetId meeting being updated, NO_MEET_ID for a new one
+     */
+    private void checkMeetingConflicts(Long advisorTeacherId, List<Long> studentIds, LocalDate date,
+                                       LocalTime startTime, LocalTime stopTime, Long excludedMeetId){
 
-        List<Meet> meets;
+        Set<Long> participantIds = new HashSet<>(studentIds);
+        participantIds.add(advisorTeacherId);
 
-        //if teacher or student
-        if(Boolean.TRUE.equals(methodHelper.isUserExist(userId).getIsAdvisor())){
-            meets = meetingRepository.findByAdvisoryTeacher_IdEquals(userId);
+        List<MeetConflictResponse> conflicts = findMeetConflicts(participantIds,
+                meetingRepository.findParticipantsOfOverlappingMeets(participantIds, date, startTime, stopTime, excludedMeetId));
 
-        }else{
-            meets = meetingRepository.findByStudentList_IdEquals(userId);
+        if(!conflicts.isEmpty()){
+            throw new MeetConflictException(ErrorMessages.MEET_HOURS_CONFLICT, conflicts);
         }
+    }
 
-        //conflict validation
-        for(Meet meet:meets){
-            LocalTime existingStartTime = meet.getStartTime();
-            LocalTime existingStopTime = meet.getStopTime();
+    /**
+     * rows found through a student also carry the advisor of that meeting, who may not be invited now, so
+     * both ids are checked
+     * @return every participant and overlapping meeting pair, ordered by participant then meeting
+     */
+    private List<MeetConflictResponse> findMeetConflicts(Set<Long> participantIds, List<MeetParticipantView> overlappingMeetRows){
+
+        Set<MeetConflictResponse> conflicts = new TreeSet<>(Comparator.comparing(MeetConflictResponse::getParticipantId)
+                .thenComparing(MeetConflictResponse::getMeetId));
+        for(MeetParticipantView row : overlappingMeetRows){
+            if(participantIds.contains(row.getAdvisorTeacherId())){
+                conflicts.add(new MeetConflictResponse(row.getAdvisorTeacherId(), row.getMeetId()));
+            }
+            if(row.getStudentId() != null && participantIds.contains(row.getStudentId())){
+                conflicts.add(new MeetConflictResponse(row.getStudentId(), row.getMeetId()));
+            }
+        }
+        return new ArrayList<>(conflicts);
+    }
 
-            if(meet.getDate().equals(date)
-                &&
-                    (
-                        startTime.isAfter(existingStartTime) && startTime.isBefore(existingStopTime) ||
-                        stopTime.isAfter(existingStartTime) && stopTime.isBefore(existingStopTime)  ||
-                        startTime.isBefore(existingStartTime) && stopTime.isAfter(existingStopTime) ||
-                        startTime.equals(existingStartTime) || stopTime.equals(existingStopTime))){
+    /**
+     * earliest times the advisor and all students are free, so a meeting can be saved without conflicts.
+     * meetings and lesson programs of everyone come with two queries, the sweep runs in memory
+     * @param startDate tomorrow when missing or earlier, meetings are saved for future dates only
+     * @param endDate DEFAULT_SLOT_SEARCH_DAYS after the start date when missing
+     * @param duration of the meeting in minutes
+     * @param limit maximum number of slots, one per free interval
+     */
+    public List<MeetSlotResponse> suggestSlots(Long advisorTeacherId, Long[] studentIds, LocalDate startDate,
+                                               LocalDate endDate, int duration, int limit) {
+
+        User advisorTeacher = methodHelper.isUserExist(advisorTeacherId);
+        methodHelper.checkAdvisor(advisorTeacher);
 
-                throw new ConflictException(ErrorMessages.MEET_HOURS_CONFLICT);
-            }
+        List<User> students = userService.findUsersByIdArray(studentIds);
+        methodHelper.checkRoles(students, RoleType.STUDENT);
 
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        LocalDate from = startDate == null || startDate.isBefore(tomorrow) ? tomorrow : startDate;
+        LocalDate to = endDate == null ? from.plusDays(DEFAULT_SLOT_SEARCH_DAYS - 1) : endDate;
+        if(to.isBefore(from) || ChronoUnit.DAYS.between(from, to) >= MAX_SLOT_SEARCH_DAYS){
+            throw new BadRequestException(String.format(ErrorMessages.INVALID_SLOT_SEARCH_RANGE_MESSAGE, MAX_SLOT_SEARCH_DAYS));
+        }
+        if(duration < 1 || duration > meetSlotFinder.getSchoolDayMinutes()){
+            throw new BadRequestException(
+                    String.format(ErrorMessages.INVALID_MEET_DURATION_MESSAGE, meetSlotFinder.getSchoolDayMinutes()));
+        }
+        if(limit < 1 || limit > MAX_SUGGESTED_SLOTS){
+            throw new BadRequestException(String.format(ErrorMessages.INVALID_SLOT_LIMIT_MESSAGE, MAX_SUGGESTED_SLOTS));
         }
 
+        List<Long> userIds = getIds(students);
+        userIds.add(advisorTeacher.getId());
+
+        return meetSlotFinder.findFreeSlots(from, to, duration, limit,
+                meetingRepository.findMeetTimesOfUsers(userIds, from, to),
+                lessonProgramRepository.findLessonProgramTimesOfUsers(userIds, from, to));
     }
 
     public List<MeetingResponse> getAll() {
@@ -142,7 +208,9 @@ public class MeetingService {
     public ResponseMessage deleteById(Long id) {
 
         Meet meet = isMeetExist(id);
+        List<Long> participantIds = getParticipantIds(meet);
         meetingRepository.delete(meet);
+        timetableService.evict(participantIds);
         
         return ResponseMessage.builder()
                 .message(SuccessMessages.MEET_DELETE)
@@ -162,32 +230,27 @@ public class MeetingService {
         //validate the time
         dateTimeValidator.checkTimeWithException(meetingRequest.getStartTime(), meetingRequest.getStopTime());
 
-        if(         meet.getDate().equals(meetingRequest.getDate()) &&
-                    meet.getStartTime().equals(meetingRequest.getStartTime()) &&
-                    meet.getStopTime().equals(meetingRequest.getStopTime())
-                    )   {
-            //conflicts related to students
-            for(Long studentId: meetingRequest.getStudentIds()){
-                checkMeetingConflicts(studentId,
-                        meetingRequest.getDate(),
-                        meetingRequest.getStartTime(),
-                        meetingRequest.getStopTime());
-            }
+        List<User> students = userService.findUsersByIdArray(meetingRequest.getStudentIds());
+        methodHelper.checkRoles(students, RoleType.STUDENT);
 
-            //conflicts related to the teacher
-            checkMeetingConflicts(meet.getAdvisoryTeacher().getId(),
-                    meetingRequest.getDate(),
-                    meetingRequest.getStartTime(),
-                    meetingRequest.getStopTime());
+        //the meeting itself is excluded, so unchanged hours never conflict with themselves
+        checkMeetingConflicts(meet.getAdvisoryTeacher().getId(),
+                getIds(students),
+                meetingRequest.getDate(),
+                meetingRequest.getStartTime(),
+                meetingRequest.getStopTime(),
+                meetingId);
 
-        }
+        //students removed from the meeting lose it from their timetable too
+        List<Long> participantIds = getParticipantIds(meet);
 
-        List<User> students = userService.findUsersByIdArray(meetingRequest.getStudentIds());
         Meet updateMeet = meetingMapper.mapUpdateRequestToMeet(meetingRequest, meetingId);
 
         updateMeet.setStudentList(students);
         updateMeet.setAdvisoryTeacher(meet.getAdvisoryTeacher());
         Meet savedMeeting = meetingRepository.save(updateMeet);
+        participantIds.addAll(getIds(students));
+        timetableService.evict(participantIds);
         return ResponseMessage.<MeetingResponse>builder()
                 .message(SuccessMessages.MEET_UPDATE)
                 .httpStatus(HttpStatus.OK)
@@ -195,6 +258,17 @@ public class MeetingService {
                 .build();
     }
 
+    private List<Long> getIds(List<User> users){
+        return users.stream().map(User::getId).collect(Collectors.toList());
+    }
+
+    //advisor teacher and invited students
+    private List<Long> getParticipantIds(Meet meet){
+        List<Long> participantIds = getIds(meet.getStudentList());
+        participantIds.add(meet.getAdvisoryTeacher().getId());
+        return participantIds;
+    }
+
     private void isMeetingAssignToThisTeacher(Meet meet, HttpServletRequest request){
 
         String username = (String) request.getAttribute("username");
@@ -247,6 +321,12 @@ public class MeetingService {
 
     }
 
+    public SliceResponse<MeetingResponse> getAllMeetByCursor(String cursor, int size, String sort, String type,
+                                                             boolean withTotal) {
+        return keysetPageHelper.getSlice(Meet.class, null, sort, type, cursor, size, withTotal)
+                .map(meetingMapper::mapMeetToMeetResponse);
+    }
+
     public Page<MeetingResponse> getAllMeetByAdvisorAsPage(HttpServletRequest request, int page, int size) {
         String username = (String) request.getAttribute("username");
 
@@ -259,4 +339,5 @@ public class MeetingService {
         return meetingRepository.findByAdvisoryTeacher_IdEquals(teacher.getId(),pageable)
                 .map(meetingMapper::mapMeetToMeetResponse);
     }
+
 }
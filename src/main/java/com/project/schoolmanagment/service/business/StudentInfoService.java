@@ -11,23 +11,35 @@ import com.project.schoolmanagment.exception.ResourceNotFoundException;
 import com.project.schoolmanagment.payload.mappers.StudentInfoMapper;
 import com.project.schoolmanagment.payload.messages.ErrorMessages;
 import com.project.schoolmanagment.payload.messages.SuccessMessages;
+import com.project.schoolmanagment.payload.request.business.StudentGradeRequest;
+import com.project.schoolmanagment.payload.request.business.StudentInfoBatchRequest;
 import com.project.schoolmanagment.payload.request.business.StudentInfoRequest;
 import com.project.schoolmanagment.payload.request.business.UpdateStudentInfoRequest;
+import com.project.schoolmanagment.payload.response.abstracts.BatchRowErrorResponse;
+import com.project.schoolmanagment.payload.response.abstracts.BatchSaveResponse;
 import com.project.schoolmanagment.payload.response.abstracts.ResponseMessage;
+import com.project.schoolmanagment.payload.response.abstracts.SliceResponse;
 import com.project.schoolmanagment.payload.response.business.StudentInfoResponse;
 import com.project.schoolmanagment.repository.business.StudentInfoRepository;
+import com.project.schoolmanagment.repository.user.UserRepository;
+import com.project.schoolmanagment.service.helper.GradeCalculator;
+import com.project.schoolmanagment.service.helper.KeysetPageHelper;
 import com.project.schoolmanagment.service.helper.MethodHelper;
 import com.project.schoolmanagment.service.helper.PageableHelper;
 import com.project.schoolmanagment.service.user.StudentService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.servlet.http.HttpServletRequest;
-import java.util.List;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -35,6 +47,11 @@ import java.util.stream.Collectors;
 
 public class StudentInfoService {
 
+    //student infos have IDENTITY ids, Hibernate would send the inserts of saveAll one by one
+    private static final String INSERT_STUDENT_INFO_SQL =
+            "INSERT INTO student_info (absentee, midterm_exam, final_exam, exam_average, info_note, letter_grade, " +
+            "education_term_id, lesson_lesson_id, student_id, teacher_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
     private final StudentInfoRepository studentInfoRepository;
     private final StudentService studentService;
     private final LessonService lessonService;
@@ -42,14 +59,17 @@ public class StudentInfoService {
     private final EducationTermService educationTermService;
     private final StudentInfoMapper studentInfoMapper;
     private final PageableHelper pageableHelper;
+    private final KeysetPageHelper keysetPageHelper;
 
-    @Value("${midterm.exam.impact.percentage}")
-    private Double midtermExamPercentage;
-    @Value("${final.exam.impact.percentage}")
-    private Double finalExamPercentage;
+    private final GradeCalculator gradeCalculator;
+    private final UserRepository userRepository;
+    private final Validator validator;
+    private final TranscriptService transcriptService;
+    private final JdbcTemplate jdbcTemplate;
 
 
 
+    @Transactional
     public ResponseMessage<StudentInfoResponse> saveStudentInfo(
             HttpServletRequest request,
             StudentInfoRequest studentInfoRequest) {
@@ -67,12 +87,12 @@ public class StudentInfoService {
         EducationTerm educationTerm1 = educationTermService.isEducationTermExist(studentInfoRequest.getEducationTermId());
 
         //A student may have only one Student INFO related to one lesson
-        isDuplicatedLessonAndInfo(student.getId(), lesson.getLessonName());
+        isDuplicatedLessonAndInfo(student.getId(), lesson);
 
         //calculate the average note and get the suitable note
-        Double average = calculateAverageNote(  studentInfoRequest.getMidtermExam(),
+        Double average = gradeCalculator.calculateAverageNote(  studentInfoRequest.getMidtermExam(),
                                                 studentInfoRequest.getFinalExam());
-        Note note = checkLetterGrade(average);
+        Note note = gradeCalculator.checkLetterGrade(average);
 
         //map DTO to domain object
         StudentInfo studentInfo = studentInfoMapper.mapStudentInfoRequestToStudentInfo(studentInfoRequest, note, average);
@@ -83,6 +103,7 @@ public class StudentInfoService {
         studentInfo.setTeacher(teacher);
         studentInfo.setLesson(lesson);
         StudentInfo savedStudentInfo = studentInfoRepository.save(studentInfo);
+        transcriptService.addStudentInfo(savedStudentInfo);
 
         return ResponseMessage.<StudentInfoResponse>builder()
                 .message(SuccessMessages.STUDENT_INFO_SAVE)
@@ -93,46 +114,134 @@ public class StudentInfoService {
 
 
 
-    private void isDuplicatedLessonAndInfo(Long studentId, String lessonName) {
+    /**
+     * saves the grades of many students for one lesson and term.
+     * teacher, lesson and term are loaded once, students and existing infos with one query each,
+     * invalid rows are skipped and reported, the valid ones are inserted with one jdbc batch.
+     * @param request to get the teacher
+     * @param batchRequest lesson, term and one row per student
+     * @return saved/failed counts and the errors of every failed row
+     */
+    @Transactional
+    public ResponseMessage<BatchSaveResponse> saveStudentInfoBatch(HttpServletRequest request,
+                                                                   StudentInfoBatchRequest batchRequest) {
+
+        String teacherUsername = (String) request.getAttribute("username");
+        User teacher = methodHelper.isUserExistByUsername(teacherUsername);
+        Lesson lesson = lessonService.isLessonExistById(batchRequest.getLessonId());
+        EducationTerm educationTerm = educationTermService.isEducationTermExist(batchRequest.getEducationTermId());
+
+        List<StudentGradeRequest> grades = batchRequest.getGrades();
+        Map<Integer, List<String>> errors = new TreeMap<>();
+
+        //bean validation, same rules as /save
+        for (int i = 0; i < grades.size(); i++) {
+            if (grades.get(i) == null) {
+                errors.put(i, Collections.singletonList("Please select student"));
+                continue;
+            }
+            Set<ConstraintViolation<StudentGradeRequest>> violations = validator.validate(grades.get(i));
+            if (!violations.isEmpty()) {
+                errors.put(i, violations.stream().map(ConstraintViolation::getMessage).collect(Collectors.toList()));
+            }
+        }
 
-        boolean isLessonDuplicationExist = studentInfoRepository.getAllByStudentId_Id(studentId)
+        Set<Long> studentIds = new HashSet<>();
+        for (int i = 0; i < grades.size(); i++) {
+            if (!errors.containsKey(i)) {
+                studentIds.add(grades.get(i).getStudentId());
+            }
+        }
+        Map<Long, User> students = userRepository.findAllById(studentIds)
                 .stream()
-                .anyMatch(info -> info.getLesson().getLessonName().equalsIgnoreCase(lessonName));
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        //A student may have only one Student INFO related to one lesson
+        Set<Long> alreadyGraded = studentIds.isEmpty()
+                ? Collections.emptySet()
+                : new HashSet<>(studentInfoRepository.findStudentIdsWithLesson(studentIds, lesson.getLessonId()));
+
+        Set<Long> seenStudentIds = new HashSet<>();
+        List<StudentInfo> studentInfos = new ArrayList<>();
+        for (int i = 0; i < grades.size(); i++) {
+            if (errors.containsKey(i)) {
+                continue;
+            }
+            StudentGradeRequest grade = grades.get(i);
+            User student = students.get(grade.getStudentId());
+            if (student == null) {
+                errors.put(i, Collections.singletonList(
+                        String.format(ErrorMessages.NOT_FOUND_USER_MESSAGE, grade.getStudentId())));
+            } else if (student.getUserRole().getRoleType() != RoleType.STUDENT) {
+                errors.put(i, Collections.singletonList(
+                        String.format(ErrorMessages.NOT_FOUND_USER_USER_ROLE_MESSAGE, RoleType.STUDENT)));
+            } else if (alreadyGraded.contains(student.getId())) {
+                errors.put(i, Collections.singletonList(
+                        String.format(ErrorMessages.ALREADY_REGISTER_LESSON_MESSAGE, lesson.getLessonName())));
+            } else if (!seenStudentIds.add(student.getId())) {
+                errors.put(i, Collections.singletonList(
+                        String.format(ErrorMessages.DUPLICATED_IN_REQUEST_MESSAGE, "student", student.getId())));
+            } else {
+                Double average = gradeCalculator.calculateAverageNote(grade.getMidtermExam(), grade.getFinalExam());
+                StudentInfo studentInfo = studentInfoMapper.mapStudentGradeRequestToStudentInfo(
+                        grade, gradeCalculator.checkLetterGrade(average), average);
+                studentInfo.setStudent(student);
+                studentInfo.setEducationTerm(educationTerm);
+                studentInfo.setTeacher(teacher);
+                studentInfo.setLesson(lesson);
+                studentInfos.add(studentInfo);
+            }
+        }
 
-        if (isLessonDuplicationExist) {
-            throw new ConflictException(String.format(ErrorMessages.ALREADY_REGISTER_LESSON_MESSAGE, lessonName));
+        List<Object[]> rows = new ArrayList<>(studentInfos.size());
+        for (StudentInfo studentInfo : studentInfos) {
+            rows.add(new Object[]{studentInfo.getAbsentee(), studentInfo.getMidtermExam(), studentInfo.getFinalExam(),
+                    studentInfo.getExamAverage(), studentInfo.getInfoNote(), studentInfo.getLetterGrade().name(),
+                    educationTerm.getId(), lesson.getLessonId(), studentInfo.getStudent().getId(), teacher.getId()});
         }
-    }
+        jdbcTemplate.batchUpdate(INSERT_STUDENT_INFO_SQL, rows);
+        transcriptService.addStudentInfos(studentInfos);
 
-    //%40-%60
-    private Double calculateAverageNote(Double midtermExam, Double finalExam){
-        return (midtermExam*midtermExamPercentage)+(finalExam*finalExamPercentage);
+        List<BatchRowErrorResponse> errorResponses = errors.entrySet()
+                .stream()
+                .map(entry -> BatchRowErrorResponse.builder()
+                        .row(entry.getKey())
+                        .identifier(grades.get(entry.getKey()) == null || grades.get(entry.getKey()).getStudentId() == null
+                                ? null
+                                : String.valueOf(grades.get(entry.getKey()).getStudentId()))
+                        .messages(entry.getValue())
+                        .build())
+                .collect(Collectors.toList());
+
+        return ResponseMessage.<BatchSaveResponse>builder()
+                .object(BatchSaveResponse.builder()
+                        .savedCount(studentInfos.size())
+                        .failedCount(errorResponses.size())
+                        .errors(errorResponses)
+                        .build())
+                .message(String.format(SuccessMessages.STUDENT_INFO_BATCH_SAVE, studentInfos.size()))
+                .httpStatus(HttpStatus.OK)
+                .build();
     }
 
 
-    private Note checkLetterGrade(Double average){
-
-        if(average<50.0) {
-            return Note.FF;
-        } else if (average<60) {
-            return Note.DD;
-        } else if (average<65) {
-            return Note.CC;
-        } else if (average<70) {
-            return  Note.CB;
-        } else if (average<75) {
-            return  Note.BB;
-        } else if (average<80) {
-            return Note.BA;
-        } else {
-            return Note.AA;
+    private void isDuplicatedLessonAndInfo(Long studentId, Lesson lesson) {
+
+        //lesson names are unique ignoring case, so the lesson id identifies the same duplicates
+        boolean isLessonDuplicationExist = !studentInfoRepository
+                .findStudentIdsWithLesson(Collections.singleton(studentId), lesson.getLessonId())
+                .isEmpty();
+
+        if (isLessonDuplicationExist) {
+            throw new ConflictException(String.format(ErrorMessages.ALREADY_REGISTER_LESSON_MESSAGE, lesson.getLessonName()));
         }
     }
 
 
+    @Transactional
     public ResponseMessage deleteById(Long studentInfoId) {
 
         StudentInfo studentInfo = isStudentInfoExist(studentInfoId);
+        transcriptService.removeStudentInfo(studentInfo);
         studentInfoRepository.delete(studentInfo);
         return ResponseMessage.builder()
                 .message(SuccessMessages.STUDENT_INFO_DELETE)
@@ -158,17 +267,26 @@ public class StudentInfoService {
                 .map(studentInfoMapper::mapStudentInfoToStudentInfoResponse);
     }
 
+    public SliceResponse<StudentInfoResponse> getStudentInfoByCursor(String cursor, int size, String sort, String type,
+                                                                     boolean withTotal) {
+        return keysetPageHelper.getSlice(StudentInfo.class, null, sort, type, cursor, size, withTotal)
+                .map(studentInfoMapper::mapStudentInfoToStudentInfoResponse);
+    }
+
+    @Transactional
     public ResponseMessage<StudentInfoResponse> update(UpdateStudentInfoRequest studentInfoRequest, Long studentInfoId) {
 
         StudentInfo studentInfo = isStudentInfoExist(studentInfoId);
+        //old lesson, term and average leave the transcript before the merge overwrites them
+        transcriptService.removeStudentInfo(studentInfo);
 
         Lesson lesson = lessonService.isLessonExistById(studentInfoRequest.getLessonId());
 
         EducationTerm educationTerm = educationTermService.isEducationTermExist(studentInfoRequest.getEducationTermId());
 
-        Double averageNote = calculateAverageNote(studentInfoRequest.getMidtermExam(), studentInfoRequest.getFinalExam());
+        Double averageNote = gradeCalculator.calculateAverageNote(studentInfoRequest.getMidtermExam(), studentInfoRequest.getFinalExam());
 
-        Note note = checkLetterGrade(averageNote);
+        Note note = gradeCalculator.checkLetterGrade(averageNote);
 
         StudentInfo mappedStudentInfo = studentInfoMapper
                 .mapUpdateStudentInfoRequestToStudentInfo( studentInfoRequest,
@@ -178,6 +296,7 @@ public class StudentInfoService {
         mappedStudentInfo.setStudent(studentInfo.getStudent());
         mappedStudentInfo.setTeacher(studentInfo.getTeacher());
         StudentInfo savedStudentInfo = studentInfoRepository.save(mappedStudentInfo);
+        transcriptService.addStudentInfo(savedStudentInfo);
 
         return ResponseMessage.<StudentInfoResponse>builder()
                 .message(SuccessMessages.STUDENT_INFO_UPDATE)
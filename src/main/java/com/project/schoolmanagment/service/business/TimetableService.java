@@ -0,0 +1,195 @@
+package com.project.schoolmanagment.service.business;
+
+import com.project.schoolmanagment.entity.concretes.business.EducationTerm;
+import com.project.schoolmanagment.entity.concretes.business.LessonProgram;
+import com.project.schoolmanagment.payload.mappers.TimetableMapper;
+import com.project.schoolmanagment.payload.response.business.TimetableResponse;
+import com.project.schoolmanagment.payload.response.business.TimetableSlotResponse;
+import com.project.schoolmanagment.repository.business.LessonProgramRepository;
+import com.project.schoolmanagment.repository.business.MeetingRepository;
+import com.project.schoolmanagment.service.helper.BoundedCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Weekly timetable of a student or teacher: lesson programs merged with meetings.
+ * The slots of a user are indexed in memory on first read, day ordered, and dropped whenever
+ * a change touches them (program assignment or deletion, meeting save, update or delete),
+ * so opening the timetable again costs no query.
+ */
+@Service
+public class TimetableService {
+
+    //monday first, Day starts with sunday
+    private static final Comparator<TimetableSlotResponse> SLOT_ORDER = Comparator
+            .comparing((TimetableSlotResponse slot) -> DayOfWeek.valueOf(slot.getDay().name()))
+            .thenComparing(TimetableSlotResponse::getStartTime)
+            .thenComparing(TimetableSlotResponse::getStopTime)
+            .thenComparing(TimetableSlotResponse::getType)
+            .thenComparing(TimetableSlotResponse::getId);
+
+    private final LessonProgramRepository lessonProgramRepository;
+    private final MeetingRepository meetingRepository;
+    private final TimetableMapper timetableMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final BoundedCache<Long, UserTimetable> timetables;
+
+    //bumped by every eviction, a load that overlaps one is not cached since it may have read old rows
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public TimetableService(LessonProgramRepository lessonProgramRepository,
+                            MeetingRepository meetingRepository,
+                            TimetableMapper timetableMapper,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${backendapi.app.timetableCache.maxSize}") int maxSize) {
+        this.lessonProgramRepository = lessonProgramRepository;
+        this.meetingRepository = meetingRepository;
+        this.timetableMapper = timetableMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.timetables = new BoundedCache<>(maxSize, 0);
+    }
+
+    /**
+     * @param userId student or teacher
+     * @param date any day of the week, today when null
+     * @return lessons whose term covers the week and meetings on its days
+     */
+    public TimetableResponse getTimetable(Long userId, LocalDate date) {
+        LocalDate weekStart = (date == null ? LocalDate.now() : date)
+                .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        LocalDate weekEnd = weekStart.plusDays(6);
+
+        UserTimetable timetable = getUserTimetable(userId);
+        List<TimetableSlotResponse> slots = new ArrayList<>();
+        for (LessonSlot lesson : timetable.lessons) {
+            if (lesson.isInTerm(weekStart, weekEnd)) {
+                slots.add(lesson.slot);
+            }
+        }
+        for (TimetableSlotResponse meet : timetable.meets) {
+            if (!meet.getDate().isBefore(weekStart) && !meet.getDate().isAfter(weekEnd)) {
+                slots.add(meet);
+            }
+        }
+        slots.sort(SLOT_ORDER);
+
+        return TimetableResponse.builder()
+                .userId(userId)
+                .weekStart(weekStart)
+                .slots(slots)
+                .build();
+    }
+
+    //same content gives the same tag, so clients can revalidate with If-None-Match
+    public String getEtag(TimetableResponse timetable) {
+        return DigestUtils.md5DigestAsHex(timetable.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    //should be called whenever lesson programs or meetings of these users change
+    public void evict(Collection<Long> userIds) {
+        runNowAndAfterCommit(() -> userIds.forEach(timetables::evict));
+    }
+
+    //lesson names and term dates are shared by many users
+    public void evictAll() {
+        runNowAndAfterCommit(timetables::clear);
+    }
+
+    public BoundedCache<Long, UserTimetable> getCache() {
+        return timetables;
+    }
+
+    private UserTimetable getUserTimetable(Long userId) {
+        UserTimetable timetable = timetables.get(userId);
+        if (timetable == null) {
+            long invalidationsBeforeLoad = invalidations.get();
+            timetable = readOnlyTransaction.execute(status -> load(userId));
+            if (invalidationsBeforeLoad == invalidations.get()) {
+                timetables.put(userId, timetable);
+            }
+        }
+        return timetable;
+    }
+
+    private UserTimetable load(Long userId) {
+        List<LessonSlot> lessons = lessonProgramRepository.findAllByUserIdWithLessons(userId)
+                .stream()
+                .map(this::mapLessonProgramToLessonSlot)
+                .sorted(Comparator.comparing(lesson -> lesson.slot, SLOT_ORDER))
+                .collect(Collectors.toList());
+        List<TimetableSlotResponse> meets = meetingRepository.findAllByParticipantId(userId)
+                .stream()
+                .map(timetableMapper::mapMeetToTimetableSlot)
+                .sorted(Comparator.comparing(TimetableSlotResponse::getDate).thenComparing(SLOT_ORDER))
+                .collect(Collectors.toList());
+        return new UserTimetable(lessons, meets);
+    }
+
+    private LessonSlot mapLessonProgramToLessonSlot(LessonProgram lessonProgram) {
+        EducationTerm educationTerm = lessonProgram.getEducationTerm();
+        return new LessonSlot(timetableMapper.mapLessonProgramToTimetableSlot(lessonProgram),
+                educationTerm == null ? null : educationTerm.getStartDate(),
+                educationTerm == null ? null : educationTerm.getEndDate());
+    }
+
+    //a read between the eviction and the commit would cache the old rows again, so evict once more after it
+    private void runNowAndAfterCommit(Runnable eviction) {
+        invalidations.incrementAndGet();
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidations.incrementAndGet();
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+    //slots of one user, both lists sorted and never modified after the load
+    public static class UserTimetable {
+
+        private final List<LessonSlot> lessons;
+        private final List<TimetableSlotResponse> meets;
+
+        private UserTimetable(List<LessonSlot> lessons, List<TimetableSlotResponse> meets) {
+            this.lessons = lessons;
+            this.meets = meets;
+        }
+    }
+
+    private static class LessonSlot {
+
+        private final TimetableSlotResponse slot;
+        private final LocalDate termStartDate;
+        private final LocalDate termEndDate;
+
+        private LessonSlot(TimetableSlotResponse slot, LocalDate termStartDate, LocalDate termEndDate) {
+            this.slot = slot;
+            this.termStartDate = termStartDate;
+            this.termEndDate = termEndDate;
+        }
+
+        //programs without a term are shown every week
+        private boolean isInTerm(LocalDate weekStart, LocalDate weekEnd) {
+            return (termStartDate == null || !termStartDate.isAfter(weekEnd))
+                    && (termEndDate == null || !termEndDate.isBefore(weekStart));
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.project.schoolmanagment.service.business;
+
+import com.project.schoolmanagment.entity.concretes.business.LessonProgram;
+import com.project.schoolmanagment.entity.concretes.user.User;
+import com.project.schoolmanagment.entity.enums.RoleType;
+import com.project.schoolmanagment.exception.BadRequestException;
+import com.project.schoolmanagment.exception.ConflictException;
+import com.project.schoolmanagment.payload.messages.ErrorMessages;
+import com.project.schoolmanagment.payload.messages.SuccessMessages;
+import com.project.schoolmanagment.payload.response.abstracts.ResponseMessage;
+import com.project.schoolmanagment.payload.response.business.TimetablePlanAssignmentResponse;
+import com.project.schoolmanagment.payload.response.business.TimetablePlanResponse;
+import com.project.schoolmanagment.payload.response.business.TimetablePlanShortfallResponse;
+import com.project.schoolmanagment.repository.business.LessonProgramRepository;
+import com.project.schoolmanagment.repository.user.UserLessonProgramView;
+import com.project.schoolmanagment.repository.user.UserRepository;
+import com.project.schoolmanagment.service.solver.TimetableSolver;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Runs TimetableSolver on the current assignments of a term.
+ * A plan is first created as a dry run, then applied with its plan id.
+ * The solver is deterministic, so applying solves again and saves only if the result is unchanged.
+ */
+@Service
+@RequiredArgsConstructor
+public class TimetableSolverService {
+
+    private final LessonProgramRepository lessonProgramRepository;
+    private final UserRepository userRepository;
+    private final EducationTermService educationTermService;
+    private final TimetableSolver timetableSolver;
+    private final TimetableService timetableService;
+
+    @Transactional(readOnly = true)
+    public ResponseMessage<TimetablePlanResponse> createPlan(Long educationTermId, int minCredits) {
+
+        return ResponseMessage.<TimetablePlanResponse>builder()
+                .message(SuccessMessages.TIMETABLE_PLAN_CREATED)
+                .object(solve(educationTermId, minCredits).response)
+                .httpStatus(HttpStatus.OK)
+                .build();
+    }
+
+    @Transactional
+    public ResponseMessage<TimetablePlanResponse> applyPlan(Long educationTermId, int minCredits, String planId) {
+
+        SolvedPlan plan = solve(educationTermId, minCredits);
+        if (!plan.response.getPlanId().equals(planId)) {
+            throw new ConflictException(String.format(ErrorMessages.TIMETABLE_PLAN_OUTDATED_MESSAGE, planId));
+        }
+
+        Map<Long, List<Long>> assignments = new HashMap<>(plan.solution.getTeacherAssignments());
+        assignments.putAll(plan.solution.getStudentAssignments());
+
+        if (!assignments.isEmpty()) {
+            //users come in one query and their program sets in batches, the inserts are batched on flush
+            List<User> users = userRepository.findUsersByIdArray(assignments.keySet().toArray(new Long[0]));
+            for (User user : users) {
+                assignments.get(user.getId())
+                        .forEach(lessonProgramId -> user.getLessonProgramList().add(plan.lessonPrograms.get(lessonProgramId)));
+            }
+            userRepository.saveAll(users);
+            timetableService.evict(assignments.keySet());
+        }
+
+        return ResponseMessage.<TimetablePlanResponse>builder()
+                .message(SuccessMessages.TIMETABLE_PLAN_APPLIED)
+                .object(plan.response)
+                .httpStatus(HttpStatus.OK)
+                .build();
+    }
+
+    private SolvedPlan solve(Long educationTermId, int minCredits) {
+
+        if (minCredits < 0) {
+            throw new BadRequestException(ErrorMessages.INVALID_MIN_CREDITS_MESSAGE);
+        }
+        educationTermService.isEducationTermExist(educationTermId);
+
+        long start = System.nanoTime();
+
+        //all programs, the ones of other terms still block the hours of their users
+        Map<Long, LessonProgram> lessonPrograms = lessonProgramRepository.findAll()
+                .stream()
+                .collect(Collectors.toMap(LessonProgram::getId, Function.identity()));
+        List<TimetableSolver.Program> programs = lessonPrograms.values()
+                .stream()
+                .map(lessonProgram -> mapLessonProgramToProgram(lessonProgram, educationTermId))
+                .collect(Collectors.toList());
+
+        Map<Long, String> usernames = new HashMap<>();
+        List<TimetableSolver.Participant> teachers = mapRowsToParticipants(
+                userRepository.findLessonProgramIdsByRoleType(RoleType.TEACHER), usernames, false);
+        //passive students are not planned
+        List<TimetableSolver.Participant> students = mapRowsToParticipants(
+                userRepository.findLessonProgramIdsByRoleType(RoleType.STUDENT), usernames, true);
+
+        TimetableSolver.Solution solution = timetableSolver.solve(
+                new TimetableSolver.Problem(programs, teachers, students, minCredits));
+
+        List<TimetablePlanAssignmentResponse> teacherAssignments =
+                mapAssignmentsToResponses(solution.getTeacherAssignments(), usernames);
+        List<TimetablePlanAssignmentResponse> studentAssignments =
+                mapAssignmentsToResponses(solution.getStudentAssignments(), usernames);
+
+        TimetablePlanResponse response = TimetablePlanResponse.builder()
+                .educationTermId(educationTermId)
+                .planId(getPlanId(educationTermId, minCredits, solution))
+                .minCredits(minCredits)
+                .solveTimeMs((System.nanoTime() - start) / 1_000_000)
+                .addedAssignments(countAssignments(teacherAssignments) + countAssignments(studentAssignments))
+                .teacherAssignments(teacherAssignments)
+                .studentAssignments(studentAssignments)
+                .unassignedLessonProgramIds(solution.getUnassignedLessonProgramIds())
+                .shortfalls(solution.getShortfalls()
+                        .stream()
+                        .map(shortfall -> TimetablePlanShortfallResponse.builder()
+                                .userId(shortfall.getStudentId())
+                                .username(usernames.get(shortfall.getStudentId()))
+                                .missingLessonIds(shortfall.getMissingLessonIds())
+                                .missingCredits(shortfall.getMissingCredits())
+                                .build())
+                        .collect(Collectors.toList()))
+                .build();
+
+        return new SolvedPlan(solution, response, lessonPrograms);
+    }
+
+    private TimetableSolver.Program mapLessonProgramToProgram(LessonProgram lessonProgram, Long educationTermId) {
+        return new TimetableSolver.Program(
+                lessonProgram.getId(),
+                lessonProgram.getDay(),
+                lessonProgram.getStartTime(),
+                lessonProgram.getStopTime(),
+                lessonProgram.getEducationTerm() != null && educationTermId.equals(lessonProgram.getEducationTerm().getId()),
+                lessonProgram.getLessons()
+                        .stream()
+                        .map(lesson -> new TimetableSolver.ProgramLesson(
+                                lesson.getLessonId(),
+                                lesson.getCreditScore() == null ? 0 : lesson.getCreditScore(),
+                                Boolean.TRUE.equals(lesson.getIsCompulsory())))
+                        .collect(Collectors.toList()));
+    }
+
+    //rows are ordered by user id, one per program
+    private List<TimetableSolver.Participant> mapRowsToParticipants(List<UserLessonProgramView> rows,
+                                                                    Map<Long, String> usernames,
+                                                                    boolean activeOnly) {
+        Map<Long, Set<Long>> lessonProgramIds = new LinkedHashMap<>();
+        for (UserLessonProgramView row : rows) {
+            if (activeOnly && !row.isActive()) {
+                continue;
+            }
+            usernames.put(row.getUserId(), row.getUsername());
+            Set<Long> userLessonProgramIds = lessonProgramIds.computeIfAbsent(row.getUserId(), id -> new HashSet<>());
+            if (row.getLessonProgramId() != null) {
+                userLessonProgramIds.add(row.getLessonProgramId());
+            }
+        }
+        return lessonProgramIds.entrySet()
+                .stream()
+                .map(entry -> new TimetableSolver.Participant(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
+    }
+
+    private List<TimetablePlanAssignmentResponse> mapAssignmentsToResponses(Map<Long, List<Long>> assignments,
+                                                                            Map<Long, String> usernames) {
+        return assignments.entrySet()
+                .stream()
+                .map(entry -> TimetablePlanAssignmentResponse.builder()
+                        .userId(entry.getKey())
+                        .username(usernames.get(entry.getKey()))
+                        .addedLessonProgramIds(entry.getValue())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private int countAssignments(List<TimetablePlanAssignmentResponse> assignments) {
+        return assignments.stream().mapToInt(assignment -> assignment.getAddedLessonProgramIds().size()).sum();
+    }
+
+    //assignment maps are ordered, the same plan always gives the same id
+    private String getPlanId(Long educationTermId, int minCredits, TimetableSolver.Solution solution) {
+        String plan = educationTermId + "|" + minCredits + "|" + solution.getTeacherAssignments()
+                + "|" + solution.getStudentAssignments();
+        return DigestUtils.md5DigestAsHex(plan.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static class SolvedPlan {
+
+        private final TimetableSolver.Solution solution;
+        private final TimetablePlanResponse response;
+        private final Map<Long, LessonProgram> lessonPrograms;
+
+        private SolvedPlan(TimetableSolver.Solution solution, TimetablePlanResponse response,
+                           Map<Long, LessonProgram> lessonPrograms) {
+            this.solution = solution;
+            this.response = response;
+            this.lessonPrograms = lessonPrograms;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.project.schoolmanagment.service.business;
+
+import com.project.schoolmanagment.entity.concretes.business.StudentInfo;
+import com.project.schoolmanagment.entity.concretes.user.User;
+import com.project.schoolmanagment.entity.enums.RoleType;
+import com.project.schoolmanagment.payload.mappers.TranscriptMapper;
+import com.project.schoolmanagment.payload.messages.SuccessMessages;
+import com.project.schoolmanagment.payload.response.abstracts.ResponseMessage;
+import com.project.schoolmanagment.payload.response.business.TranscriptResponse;
+import com.project.schoolmanagment.repository.business.StudentTermGpaRepository;
+import com.project.schoolmanagment.service.helper.MethodHelper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Transcript and GPA per student and education term.
+ * The totals in student_term_gpa are moved by deltas on every student info change
+ * instead of being aggregated on read; rebuildAll recomputes them from student_info.
+ */
+@Service
+@RequiredArgsConstructor
+public class TranscriptService {
+
+    //adds the delta to the row of the student and term, creating it on the first lesson
+    private static final String APPLY_DELTA_SQL =
+            "INSERT INTO student_term_gpa (student_id, education_term_id, lesson_count, total_credits, weighted_score) " +
+            "VALUES (?, ?, ?, ?, ?) " +
+            "ON CONFLICT (student_id, education_term_id) DO UPDATE SET " +
+            "lesson_count = student_term_gpa.lesson_count + EXCLUDED.lesson_count, " +
+            "total_credits = student_term_gpa.total_credits + EXCLUDED.total_credits, " +
+            "weighted_score = student_term_gpa.weighted_score + EXCLUDED.weighted_score";
+
+    private static final String DELETE_EMPTY_SQL =
+            "DELETE FROM student_term_gpa WHERE student_id = ? AND education_term_id = ? AND lesson_count <= 0";
+
+    //a changed credit score moves every row that has an info of the lesson,
+    //counting the same infos as applyDeltas and REBUILD_SQL
+    private static final String APPLY_CREDIT_CHANGE_SQL =
+            "UPDATE student_term_gpa g SET " +
+            "total_credits = g.total_credits + ? * c.info_count, " +
+            "weighted_score = g.weighted_score + ? * c.average_sum " +
+            "FROM (SELECT student_id, education_term_id, COUNT(*) AS info_count, SUM(exam_average) AS average_sum " +
+            "      FROM student_info WHERE lesson_lesson_id = ? " +
+            "      AND student_id IS NOT NULL AND education_term_id IS NOT NULL AND exam_average IS NOT NULL " +
+            "      GROUP BY student_id, education_term_id) c " +
+            "WHERE g.student_id = c.student_id AND g.education_term_id = c.education_term_id";
+
+    private static final String REBUILD_SQL =
+            "INSERT INTO student_term_gpa (student_id, education_term_id, lesson_count, total_credits, weighted_score) " +
+            "SELECT si.student_id, si.education_term_id, COUNT(*), " +
+            "SUM(COALESCE(l.credit_score, 0)), SUM(COALESCE(l.credit_score, 0) * si.exam_average) " +
+            "FROM student_info si JOIN lesson l ON l.lesson_id = si.lesson_lesson_id " +
+            "WHERE si.student_id IS NOT NULL AND si.education_term_id IS NOT NULL AND si.exam_average IS NOT NULL " +
+            "GROUP BY si.student_id, si.education_term_id";
+
+    private final StudentTermGpaRepository studentTermGpaRepository;
+    private final TranscriptMapper transcriptMapper;
+    private final MethodHelper methodHelper;
+    private final JdbcTemplate jdbcTemplate;
+
+    public void addStudentInfo(StudentInfo studentInfo) {
+        addStudentInfos(Collections.singletonList(studentInfo));
+    }
+
+    //infos of the same student and term are summed first, one statement per row in a single jdbc batch
+    public void addStudentInfos(Collection<StudentInfo> studentInfos) {
+        applyDeltas(studentInfos, 1);
+    }
+
+    //has to be called with the values before the change, before an update is merged
+    public void removeStudentInfo(StudentInfo studentInfo) {
+        applyDeltas(Collections.singletonList(studentInfo), -1);
+    }
+
+    public void applyCreditChange(Long lessonId, Integer oldCreditScore, Integer newCreditScore) {
+        int creditDelta = creditOf(newCreditScore) - creditOf(oldCreditScore);
+        if (creditDelta != 0) {
+            jdbcTemplate.update(APPLY_CREDIT_CHANGE_SQL, creditDelta, creditDelta, lessonId);
+        }
+    }
+
+    /**
+     * recomputes every row from student_info. needed once for the infos saved before
+     * transcripts existed, and to repair the totals after changes made around the services.
+     * the table lock keeps grade entries from applying deltas while the totals are rebuilt
+     * @return number of student and term rows
+     */
+    @Transactional
+    public int rebuildAll() {
+        jdbcTemplate.execute("LOCK TABLE student_term_gpa IN EXCLUSIVE MODE");
+        jdbcTemplate.update("DELETE FROM student_term_gpa");
+        return jdbcTemplate.update(REBUILD_SQL);
+    }
+
+    //one time backfill at startup, only when transcripts were never built
+    @Transactional
+    public void backfillIfEmpty() {
+        if (studentTermGpaRepository.count() == 0) {
+            rebuildAll();
+        }
+    }
+
+    @Transactional
+    public ResponseMessage<Integer> rebuild() {
+        int rowCount = rebuildAll();
+        return ResponseMessage.<Integer>builder()
+                .object(rowCount)
+                .message(SuccessMessages.TRANSCRIPT_REBUILT)
+                .httpStatus(HttpStatus.OK)
+                .build();
+    }
+
+    public TranscriptResponse getTranscriptByStudentId(Long studentId) {
+        User student = methodHelper.isUserExist(studentId);
+        methodHelper.checkRole(student, RoleType.STUDENT);
+        return transcriptMapper.mapStudentTermGpasToTranscriptResponse(
+                studentId, studentTermGpaRepository.findByStudentId(studentId));
+    }
+
+    public TranscriptResponse getTranscriptForStudent(HttpServletRequest request) {
+        String username = (String) request.getAttribute("username");
+        User student = methodHelper.isUserExistByUsername(username);
+        return transcriptMapper.mapStudentTermGpasToTranscriptResponse(
+                student.getId(), studentTermGpaRepository.findByStudentId(student.getId()));
+    }
+
+    private void applyDeltas(Collection<StudentInfo> studentInfos, int sign) {
+        Map<List<Long>, double[]> deltas = new LinkedHashMap<>();
+        for (StudentInfo studentInfo : studentInfos) {
+            if (studentInfo.getStudent() == null || studentInfo.getEducationTerm() == null
+                    || studentInfo.getExamAverage() == null) {
+                continue;
+            }
+            int credit = creditOf(studentInfo.getLesson().getCreditScore());
+            double[] delta = deltas.computeIfAbsent(
+                    Arrays.asList(studentInfo.getStudent().getId(), studentInfo.getEducationTerm().getId()),
+                    key -> new double[3]);
+            delta[0] += sign;
+            delta[1] += sign * credit;
+            delta[2] += sign * credit * studentInfo.getExamAverage();
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        deltas.forEach((key, delta) ->
+                rows.add(new Object[]{key.get(0), key.get(1), (int) delta[0], (int) delta[1], delta[2]}));
+        jdbcTemplate.batchUpdate(APPLY_DELTA_SQL, rows);
+
+        if (sign < 0) {
+            List<Object[]> keys = new ArrayList<>(deltas.size());
+            deltas.keySet().forEach(key -> keys.add(new Object[]{key.get(0), key.get(1)}));
+            jdbcTemplate.batchUpdate(DELETE_EMPTY_SQL, keys);
+        }
+    }
+
+    private int creditOf(Integer creditScore) {
+        return creditScore == null ? 0 : creditScore;
+    }
+}
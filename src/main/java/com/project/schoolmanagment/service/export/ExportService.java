@@ -0,0 +1,161 @@
+package com.project.schoolmanagment.service.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.project.schoolmanagment.entity.enums.RoleType;
+import com.project.schoolmanagment.exception.BadRequestException;
+import com.project.schoolmanagment.payload.messages.ErrorMessages;
+import com.project.schoolmanagment.payload.response.business.StudentInfoExportResponse;
+import com.project.schoolmanagment.payload.response.user.UserExportResponse;
+import com.project.schoolmanagment.repository.business.StudentInfoRepository;
+import com.project.schoolmanagment.repository.user.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Streams whole tables as csv or json. Rows are read from a server side cursor as flat
+ * projections and written to the response one by one, so memory use does not grow with the table.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExportService {
+
+    private static final String CSV = "csv";
+    private static final String JSON = "json";
+
+    private static final String[] STUDENT_INFO_HEADER = {"id", "studentId", "studentUsername", "studentNumber",
+            "lessonName", "creditScore", "educationTerm", "termStartDate", "midtermExam", "finalExam", "average",
+            "note", "absentee", "teacherUsername"};
+
+    private static final String[] USER_HEADER = {"userId", "username", "name", "surname", "birthDay", "ssn",
+            "birthPlace", "phoneNumber", "gender", "email", "userRole", "studentNumber", "active", "advisor",
+            "advisorTeacherId"};
+
+    private final StudentInfoRepository studentInfoRepository;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+
+    public ResponseEntity<StreamingResponseBody> exportStudentInfos(String format) {
+        return export("student-infos", format, StudentInfoExportResponse.class,
+                studentInfoRepository::streamAllForExport,
+                STUDENT_INFO_HEADER,
+                row -> new Object[]{row.getId(), row.getStudentId(), row.getStudentUsername(), row.getStudentNumber(),
+                        row.getLessonName(), row.getCreditScore(), row.getEducationTerm(), row.getTermStartDate(),
+                        row.getMidtermExam(), row.getFinalExam(), row.getAverage(), row.getNote(),
+                        row.getAbsentee(), row.getTeacherUsername()});
+    }
+
+    //all users, or the users of one role when roleType is given
+    public ResponseEntity<StreamingResponseBody> exportUsers(String format, RoleType roleType) {
+        return export("users", format, UserExportResponse.class,
+                () -> roleType == null
+                        ? userRepository.streamAllForExport()
+                        : userRepository.streamAllForExportByRole(roleType),
+                USER_HEADER,
+                row -> new Object[]{row.getUserId(), row.getUsername(), row.getName(), row.getSurname(),
+                        row.getBirthDay(), row.getSsn(), row.getBirthPlace(), row.getPhoneNumber(), row.getGender(),
+                        row.getEmail(), row.getUserRole(), row.getStudentNumber(), row.getActive(), row.getAdvisor(),
+                        row.getAdvisorTeacherId()});
+    }
+
+    private <T> ResponseEntity<StreamingResponseBody> export(String fileName, String format, Class<T> rowType,
+                                                             Supplier<Stream<T>> rows, String[] header,
+                                                             Function<T, Object[]> csvValues) {
+        String checkedFormat = format == null ? CSV : format.toLowerCase();
+        MediaType mediaType;
+        if (CSV.equals(checkedFormat)) {
+            mediaType = new MediaType("text", "csv", StandardCharsets.UTF_8);
+        } else if (JSON.equals(checkedFormat)) {
+            mediaType = MediaType.APPLICATION_JSON;
+        } else {
+            throw new BadRequestException(String.format(ErrorMessages.INVALID_EXPORT_FORMAT_MESSAGE, format));
+        }
+
+        //the body runs after the controller returned, on another thread, so it opens its own transaction
+        StreamingResponseBody body = outputStream -> {
+            TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+            readOnlyTransaction.setReadOnly(true);
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<T> stream = rows.get()) {
+                    if (CSV.equals(checkedFormat)) {
+                        writeCsv(stream, header, csvValues, outputStream);
+                    } else {
+                        writeJson(stream, rowType, outputStream);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        };
+
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + fileName + "." + checkedFormat + "\"")
+                .body(body);
+    }
+
+    private <T> void writeCsv(Stream<T> rows, String[] header, Function<T, Object[]> csvValues,
+                              OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writeCsvLine(writer, header);
+        Iterator<T> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            writeCsvLine(writer, csvValues.apply(iterator.next()));
+        }
+        writer.flush();
+    }
+
+    private void writeCsvLine(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    //RFC 4180: fields with a separator, quote or line break are quoted, quotes are doubled
+    private String escapeCsv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    private <T> void writeJson(Stream<T> rows, Class<T> rowType, OutputStream outputStream) throws IOException {
+        //flushing after every row would send a tcp packet per row
+        ObjectWriter rowWriter = objectMapper.writerFor(rowType)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.writeStartArray();
+        Iterator<T> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            rowWriter.writeValue(generator, iterator.next());
+        }
+        generator.writeEndArray();
+        generator.close();
+    }
+}
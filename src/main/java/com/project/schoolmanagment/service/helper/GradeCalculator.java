@@ -0,0 +1,39 @@
+package com.project.schoolmanagment.service.helper;
+
+import com.project.schoolmanagment.entity.enums.Note;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+//weighted average and letter grade of a student info, shared by single and batch grade entry
+@Component
+public class GradeCalculator {
+
+    @Value("${midterm.exam.impact.percentage}")
+    private Double midtermExamPercentage;
+    @Value("${final.exam.impact.percentage}")
+    private Double finalExamPercentage;
+
+    //%40-%60
+    public Double calculateAverageNote(Double midtermExam, Double finalExam){
+        return (midtermExam*midtermExamPercentage)+(finalExam*finalExamPercentage);
+    }
+
+    public Note checkLetterGrade(Double average){
+
+        if(average<50.0) {
+            return Note.FF;
+        } else if (average<60) {
+            return Note.DD;
+        } else if (average<65) {
+            return Note.CC;
+        } else if (average<70) {
+            return  Note.CB;
+        } else if (average<75) {
+            return  Note.BB;
+        } else if (average<80) {
+            return Note.BA;
+        } else {
+            return Note.AA;
+        }
+    }
+}
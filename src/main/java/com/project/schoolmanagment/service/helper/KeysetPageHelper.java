@@ -0,0 +1,246 @@
+package com.project.schoolmanagment.service.helper;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.project.schoolmanagment.exception.BadRequestException;
+import com.project.schoolmanagment.payload.messages.ErrorMessages;
+import com.project.schoolmanagment.payload.response.abstracts.SliceResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.*;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.SingularAttribute;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiFunction;
+
+/**
+ * Keyset (seek) pagination. Instead of an offset, the next page starts after the sort value and id
+ * of the last row, so every page costs the same no matter how deep the client pages.
+ * Rows with a null sort value come after all others in both directions, ordered by id.
+ */
+@Component
+@RequiredArgsConstructor
+public class KeysetPageHelper {
+
+    private static final String CURSOR_SEPARATOR = "|";
+
+    //largest slice a client can ask for
+    private static final int MAX_SLICE_SIZE = 500;
+
+    private final EntityManager entityManager;
+
+    /**
+     * @param entityClass entity to page
+     * @param filter extra where clause, null for none
+     * @param sort field to sort by, the id is used as tie breaker
+     * @param type desc for descending order, ascending otherwise
+     * @param cursor nextCursor of the previous slice, null for the first one
+     * @param size number of rows in the slice, 1 to MAX_SLICE_SIZE
+     * @param withTotal runs the count query when true
+     */
+    public <T> SliceResponse<T> getSlice(Class<T> entityClass, Specification<T> filter, String sort, String type,
+                                         String cursor, int size, boolean withTotal) {
+
+        if (size < 1 || size > MAX_SLICE_SIZE) {
+            throw new BadRequestException(String.format(ErrorMessages.INVALID_SLICE_SIZE_MESSAGE, MAX_SLICE_SIZE));
+        }
+
+        EntityType<T> entityType = entityManager.getMetamodel().entity(entityClass);
+        SingularAttribute<? super T, ?> idAttribute = entityType.getId(entityType.getIdType().getJavaType());
+        SingularAttribute<? super T, ?> sortAttribute = getSortAttribute(entityType, sort);
+        boolean descending = Objects.equals(type, "desc");
+        String[] lastRow = cursor == null || cursor.isEmpty() ? null : decodeCursor(cursor, sortAttribute.getName());
+        //a cursor without sort value points into the rows with a null sort value
+        boolean afterNullSortValue = lastRow != null && lastRow.length == 2;
+
+        //one extra row tells if there is a next slice without counting
+        List<T> rows = new ArrayList<>();
+        if (!afterNullSortValue) {
+            rows.addAll(findRows(entityClass, filter, size + 1, (cb, root) -> {
+                List<Predicate> predicates = new ArrayList<>();
+                predicates.add(cb.isNotNull(root.get(sortAttribute.getName())));
+                if (lastRow != null) {
+                    predicates.add(afterCursor(cb, root, sortAttribute, idAttribute, descending, lastRow, cursor));
+                }
+                return predicates;
+            }, sortAttribute, idAttribute, descending));
+        }
+        //the last slice with values continues with the null ones
+        if (rows.size() <= size) {
+            rows.addAll(findRows(entityClass, filter, size + 1 - rows.size(), (cb, root) -> {
+                List<Predicate> predicates = new ArrayList<>();
+                predicates.add(cb.isNull(root.get(sortAttribute.getName())));
+                if (afterNullSortValue) {
+                    predicates.add(afterId(cb, root, idAttribute, descending, lastRow, cursor));
+                }
+                return predicates;
+            }, null, idAttribute, descending));
+        }
+
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? new ArrayList<>(rows.subList(0, size)) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            T last = content.get(content.size() - 1);
+            nextCursor = encodeCursor(sortAttribute.getName(),
+                    readValue(idAttribute, last),
+                    readValue(sortAttribute, last));
+        }
+
+        return SliceResponse.<T>builder()
+                .content(content)
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .totalElements(withTotal ? count(entityClass, filter) : null)
+                .build();
+    }
+
+    //rows matching the filter and the keyset predicates, ordered by the sort field (if given) and id
+    private <T> List<T> findRows(Class<T> entityClass, Specification<T> filter, int maxResults,
+                                 BiFunction<CriteriaBuilder, Root<T>, List<Predicate>> keysetPredicates,
+                                 SingularAttribute<? super T, ?> sortAttribute,
+                                 SingularAttribute<? super T, ?> idAttribute, boolean descending) {
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(entityClass);
+        Root<T> root = query.from(entityClass);
+
+        List<Predicate> predicates = new ArrayList<>(keysetPredicates.apply(cb, root));
+        if (filter != null) {
+            predicates.add(filter.toPredicate(root, query, cb));
+        }
+
+        List<Order> orders = new ArrayList<>();
+        if (sortAttribute != null) {
+            Path<?> sortPath = root.get(sortAttribute.getName());
+            orders.add(descending ? cb.desc(sortPath) : cb.asc(sortPath));
+        }
+        Path<?> idPath = root.get(idAttribute.getName());
+        orders.add(descending ? cb.desc(idPath) : cb.asc(idPath));
+
+        query.select(root)
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(orders);
+
+        return entityManager.createQuery(query).setMaxResults(maxResults).getResultList();
+    }
+
+    private <T> SingularAttribute<? super T, ?> getSortAttribute(EntityType<T> entityType, String sort) {
+        try {
+            SingularAttribute<? super T, ?> attribute = entityType.getSingularAttribute(sort);
+            //only plain columns have a meaningful order, hidden ones (password) must not leak through the cursor
+            if (attribute.getPersistentAttributeType() != Attribute.PersistentAttributeType.BASIC
+                    || !Comparable.class.isAssignableFrom(ClassUtils.resolvePrimitiveIfNecessary(attribute.getJavaType()))
+                    || isHiddenFromJson((Field) attribute.getJavaMember())) {
+                throw new BadRequestException(String.format(ErrorMessages.INVALID_SORT_FIELD_MESSAGE, sort));
+            }
+            return attribute;
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(String.format(ErrorMessages.INVALID_SORT_FIELD_MESSAGE, sort));
+        }
+    }
+
+    private boolean isHiddenFromJson(Field field) {
+        JsonProperty jsonProperty = field.getAnnotation(JsonProperty.class);
+        return field.isAnnotationPresent(JsonIgnore.class)
+                || (jsonProperty != null && jsonProperty.access() == JsonProperty.Access.WRITE_ONLY);
+    }
+
+    //(sort, id) > (lastSort, lastId) written out, since JPQL has no row value comparison
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private <T> Predicate afterCursor(CriteriaBuilder cb, Root<T> root,
+                                      SingularAttribute<? super T, ?> sortAttribute,
+                                      SingularAttribute<? super T, ?> idAttribute,
+                                      boolean descending, String[] lastRow, String cursor) {
+
+        Comparable lastSortValue = parse(lastRow[2], sortAttribute.getJavaType(), cursor);
+        Expression<Comparable> sortPath = root.get(sortAttribute.getName());
+
+        Predicate sortPasses = descending ? cb.lessThan(sortPath, lastSortValue) : cb.greaterThan(sortPath, lastSortValue);
+
+        return cb.or(sortPasses, cb.and(cb.equal(sortPath, lastSortValue),
+                afterId(cb, root, idAttribute, descending, lastRow, cursor)));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private <T> Predicate afterId(CriteriaBuilder cb, Root<T> root, SingularAttribute<? super T, ?> idAttribute,
+                                  boolean descending, String[] lastRow, String cursor) {
+
+        Comparable lastId = parse(lastRow[1], idAttribute.getJavaType(), cursor);
+        Expression<Comparable> idPath = root.get(idAttribute.getName());
+        return descending ? cb.lessThan(idPath, lastId) : cb.greaterThan(idPath, lastId);
+    }
+
+    private <T> Long count(Class<T> entityClass, Specification<T> filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<T> root = query.from(entityClass);
+        query.select(cb.count(root));
+        if (filter != null) {
+            query.where(filter.toPredicate(root, query, cb));
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    //sortField|id|sortValue, or sortField|id when the sort value is null
+    private String encodeCursor(String sortField, Object id, Object sortValue) {
+        String raw = sortField + CURSOR_SEPARATOR + id + (sortValue == null ? "" : CURSOR_SEPARATOR + sortValue);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    //the sort value may contain the separator itself
+    private String[] decodeCursor(String cursor, String sortField) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + CURSOR_SEPARATOR, 3);
+            if (parts.length >= 2 && parts[0].equals(sortField)) {
+                return parts;
+            }
+        } catch (IllegalArgumentException e) {
+            //not base64, reported below
+        }
+        throw new BadRequestException(String.format(ErrorMessages.INVALID_CURSOR_MESSAGE, cursor));
+    }
+
+    @SuppressWarnings("rawtypes")
+    private Comparable parse(String value, Class<?> type, String cursor) {
+        try {
+            Class<?> wrapped = ClassUtils.resolvePrimitiveIfNecessary(type);
+            if (wrapped == LocalDate.class) {
+                return LocalDate.parse(value);
+            }
+            if (wrapped == LocalTime.class) {
+                return LocalTime.parse(value);
+            }
+            if (wrapped == LocalDateTime.class) {
+                return LocalDateTime.parse(value);
+            }
+            return (Comparable) DefaultConversionService.getSharedInstance().convert(value, wrapped);
+        } catch (RuntimeException e) {
+            throw new BadRequestException(String.format(ErrorMessages.INVALID_CURSOR_MESSAGE, cursor));
+        }
+    }
+
+    private Object readValue(SingularAttribute<?, ?> attribute, Object entity) {
+        Field field = (Field) attribute.getJavaMember();
+        ReflectionUtils.makeAccessible(field);
+        return ReflectionUtils.getField(field, entity);
+    }
+}
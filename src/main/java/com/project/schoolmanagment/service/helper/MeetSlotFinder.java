@@ -0,0 +1,122 @@
+package com.project.schoolmanagment.service.helper;
+
+import com.project.schoolmanagment.entity.enums.Day;
+import com.project.schoolmanagment.payload.response.business.MeetSlotResponse;
+import com.project.schoolmanagment.repository.business.LessonProgramTimeView;
+import com.project.schoolmanagment.repository.business.MeetTimeView;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * Free time common to a group of people, found by a sweep over their busy hours.
+ * Busy hours of a day (meetings on that date, lesson programs on that weekday) are sorted by start time
+ * and merged; the gaps between them inside school hours are the free intervals.
+ * O(n log n) per day for n busy intervals.
+ */
+@Component
+public class MeetSlotFinder {
+
+    //school hours, no slot starts before or ends after
+    private final LocalTime dayStart;
+    private final LocalTime dayEnd;
+
+    public MeetSlotFinder(@Value("${backendapi.app.meetSlots.dayStart}") String dayStart,
+                          @Value("${backendapi.app.meetSlots.dayEnd}") String dayEnd) {
+        this.dayStart = LocalTime.parse(dayStart);
+        this.dayEnd = LocalTime.parse(dayEnd);
+    }
+
+    //longest meeting that fits into a school day
+    public int getSchoolDayMinutes() {
+        return (dayEnd.toSecondOfDay() - dayStart.toSecondOfDay()) / 60;
+    }
+
+    /**
+     * @param startDate first day searched
+     * @param endDate last day searched, inclusive
+     * @param durationMinutes length of the meeting
+     * @param limit maximum number of slots returned
+     * @param meets meetings of everyone in the date range
+     * @param lessonPrograms weekly programs of everyone
+     * @return the earliest slots, at most one per free interval, weekends skipped
+     */
+    public List<MeetSlotResponse> findFreeSlots(LocalDate startDate, LocalDate endDate,
+                                                int durationMinutes, int limit,
+                                                List<MeetTimeView> meets,
+                                                List<LessonProgramTimeView> lessonPrograms) {
+
+        Map<LocalDate, List<LocalTime[]>> meetsByDate = new HashMap<>();
+        for (MeetTimeView meet : meets) {
+            meetsByDate.computeIfAbsent(meet.getDate(), date -> new ArrayList<>())
+                    .add(new LocalTime[]{meet.getStartTime(), meet.getStopTime()});
+        }
+        Map<Day, List<LessonProgramTimeView>> lessonProgramsByDay = new EnumMap<>(Day.class);
+        for (LessonProgramTimeView lessonProgram : lessonPrograms) {
+            lessonProgramsByDay.computeIfAbsent(lessonProgram.getDay(), day -> new ArrayList<>()).add(lessonProgram);
+        }
+
+        List<MeetSlotResponse> slots = new ArrayList<>();
+        for (LocalDate date = startDate; !date.isAfter(endDate) && slots.size() < limit; date = date.plusDays(1)) {
+            if (date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                continue;
+            }
+            Day day = Day.valueOf(date.getDayOfWeek().name());
+
+            List<LocalTime[]> busy = new ArrayList<>(meetsByDate.getOrDefault(date, Collections.emptyList()));
+            for (LessonProgramTimeView lessonProgram : lessonProgramsByDay.getOrDefault(day, Collections.emptyList())) {
+                if (isInTerm(lessonProgram, date)) {
+                    busy.add(new LocalTime[]{lessonProgram.getStartTime(), lessonProgram.getStopTime()});
+                }
+            }
+            busy.sort(Comparator.comparing(interval -> interval[0]));
+
+            //end of the busy hours swept so far, [startTime, stopTime) so back to back is allowed
+            LocalTime freeFrom = dayStart;
+            for (LocalTime[] interval : busy) {
+                if (!freeFrom.isBefore(dayEnd) || slots.size() >= limit) {
+                    break;
+                }
+                if (interval[0].isAfter(freeFrom)) {
+                    addSlot(slots, date, day, freeFrom, min(interval[0], dayEnd), durationMinutes);
+                }
+                freeFrom = max(freeFrom, interval[1]);
+            }
+            if (freeFrom.isBefore(dayEnd) && slots.size() < limit) {
+                addSlot(slots, date, day, freeFrom, dayEnd, durationMinutes);
+            }
+        }
+        return slots;
+    }
+
+    private void addSlot(List<MeetSlotResponse> slots, LocalDate date, Day day,
+                         LocalTime freeFrom, LocalTime freeUntil, int durationMinutes) {
+        //seconds of the day, LocalTime arithmetic would wrap around midnight
+        if (freeUntil.toSecondOfDay() - freeFrom.toSecondOfDay() >= durationMinutes * 60) {
+            slots.add(MeetSlotResponse.builder()
+                    .date(date)
+                    .day(day)
+                    .startTime(freeFrom)
+                    .stopTime(freeFrom.plusMinutes(durationMinutes))
+                    .freeUntil(freeUntil)
+                    .build());
+        }
+    }
+
+    private boolean isInTerm(LessonProgramTimeView lessonProgram, LocalDate date) {
+        return (lessonProgram.getTermStartDate() == null || !lessonProgram.getTermStartDate().isAfter(date))
+                && (lessonProgram.getTermEndDate() == null || !lessonProgram.getTermEndDate().isBefore(date));
+    }
+
+    private LocalTime min(LocalTime first, LocalTime second) {
+        return first.isBefore(second) ? first : second;
+    }
+
+    private LocalTime max(LocalTime first, LocalTime second) {
+        return first.isAfter(second) ? first : second;
+    }
+}
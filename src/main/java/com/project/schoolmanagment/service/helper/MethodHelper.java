@@ -9,6 +9,10 @@ import com.project.schoolmanagment.repository.user.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
 @Component
 @RequiredArgsConstructor
 public class MethodHelper
@@ -36,6 +40,19 @@ public class MethodHelper
     }
 
 
+    //one exception listing every user without the role, users should come with their role fetched
+    public void checkRoles(Collection<User> users, RoleType roleType){
+        List<Long> wrongRoleIds = users.stream()
+                .filter(user -> user.getUserRole() == null || !user.getUserRole().getRoleType().equals(roleType))
+                .map(User::getId)
+                .sorted()
+                .collect(Collectors.toList());
+        if(!wrongRoleIds.isEmpty()){
+            throw new ResourceNotFoundException(String.format(ErrorMessages.NOT_FOUND_USERS_WITH_ROLE_MESSAGE, wrongRoleIds, roleType));
+        }
+    }
+
+
     public void checkAdvisor(User user){
         if(Boolean.FALSE.equals(user.getIsAdvisor())){
             throw new ResourceNotFoundException(String.format(ErrorMessages.NOT_FOUND_ADVISOR_MESSAGE, user.getId()));
@@ -0,0 +1,44 @@
+package com.project.schoolmanagment.service.helper;
+
+import com.project.schoolmanagment.entity.concretes.business.EducationTerm;
+import com.project.schoolmanagment.entity.concretes.business.Lesson;
+import com.project.schoolmanagment.entity.concretes.user.UserRole;
+import com.project.schoolmanagment.entity.enums.RoleType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-process caches for tables that almost never change.
+ * Cached entities are detached, they should only be used as references or read,
+ * the owning services keep the caches in sync on save, update and delete.
+ */
+@Component
+public class ReferenceDataCache {
+
+    private final BoundedCache<RoleType, UserRole> userRoles;
+
+    private final BoundedCache<Long, Lesson> lessons;
+
+    private final BoundedCache<Long, EducationTerm> educationTerms;
+
+    public ReferenceDataCache(@Value("${backendapi.app.referenceCache.maxSize}") int maxSize,
+                              @Value("${backendapi.app.referenceCache.ttlMs}") long ttlMs) {
+        //roles are fixed, created once at startup
+        this.userRoles = new BoundedCache<>(RoleType.values().length, 0);
+        //ttl only bounds staleness when another instance changes the data
+        this.lessons = new BoundedCache<>(maxSize, ttlMs);
+        this.educationTerms = new BoundedCache<>(maxSize, ttlMs);
+    }
+
+    public BoundedCache<RoleType, UserRole> getUserRoles() {
+        return userRoles;
+    }
+
+    public BoundedCache<Long, Lesson> getLessons() {
+        return lessons;
+    }
+
+    public BoundedCache<Long, EducationTerm> getEducationTerms() {
+        return educationTerms;
+    }
+}
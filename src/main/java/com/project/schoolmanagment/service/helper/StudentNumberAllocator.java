@@ -0,0 +1,53 @@
+package com.project.schoolmanagment.service.helper;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Hands out student numbers from a Postgres sequence.
+ * nextval is atomic, so concurrent registrations never get the same number
+ * and no aggregate query over t_user is needed per insert.
+ */
+@Component
+@RequiredArgsConstructor
+public class StudentNumberAllocator {
+
+    private static final String SEQUENCE_NAME = "student_number_seq";
+
+    //first student number, same as before the sequence was introduced
+    private static final int FIRST_STUDENT_NUMBER = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * creates the sequence and moves it past the numbers already given to students.
+     * should run once at startup after the schema is created
+     */
+    public void createSequenceIfNotExists() {
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + SEQUENCE_NAME + " START WITH " + FIRST_STUDENT_NUMBER);
+
+        //existing students were numbered with max()+1, continue after the biggest one
+        jdbcTemplate.queryForList(
+                "SELECT setval('" + SEQUENCE_NAME + "', m.max_number) " +
+                "FROM (SELECT MAX(student_number) AS max_number FROM t_user) m " +
+                "WHERE m.max_number >= (SELECT last_value FROM " + SEQUENCE_NAME + ")");
+    }
+
+    public int nextStudentNumber() {
+        Long next = jdbcTemplate.queryForObject("SELECT nextval('" + SEQUENCE_NAME + "')", Long.class);
+        return Math.toIntExact(next);
+    }
+
+    //reserves count numbers in a single round trip
+    public List<Integer> nextStudentNumbers(int count) {
+        return jdbcTemplate.queryForList(
+                        "SELECT nextval('" + SEQUENCE_NAME + "') FROM generate_series(1, ?)", Long.class, count)
+                .stream()
+                .map(Math::toIntExact)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,35 @@
+package com.project.schoolmanagment.service.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+//in memory store of the service method and endpoint metrics, reset by a restart or /metrics/reset
+@Component
+public class MetricsRecorder {
+
+    private final Map<String, OperationMetrics> services = new ConcurrentHashMap<>();
+    private final Map<String, OperationMetrics> requests = new ConcurrentHashMap<>();
+
+    public void recordServiceCall(String method, long nanos, int queryCount) {
+        services.computeIfAbsent(method, key -> new OperationMetrics()).record(nanos, queryCount, false);
+    }
+
+    public void recordRequest(String endpoint, long nanos, int queryCount, boolean overQueryThreshold) {
+        requests.computeIfAbsent(endpoint, key -> new OperationMetrics()).record(nanos, queryCount, overQueryThreshold);
+    }
+
+    public Map<String, OperationMetrics> getServices() {
+        return services;
+    }
+
+    public Map<String, OperationMetrics> getRequests() {
+        return requests;
+    }
+
+    public void reset() {
+        services.clear();
+        requests.clear();
+    }
+}
@@ -0,0 +1,124 @@
+package com.project.schoolmanagment.service.metrics;
+
+import com.project.schoolmanagment.config.ExecutionConfig;
+import com.project.schoolmanagment.payload.response.metrics.CacheStatsResponse;
+import com.project.schoolmanagment.payload.response.metrics.OperationMetricsResponse;
+import com.project.schoolmanagment.payload.response.metrics.PasswordHashingStatsResponse;
+import com.project.schoolmanagment.security.jwt.JwtUtils;
+import com.project.schoolmanagment.security.service.ExecutorPasswordEncoder;
+import com.project.schoolmanagment.security.service.UserDetailsCache;
+import com.project.schoolmanagment.service.business.TimetableService;
+import com.project.schoolmanagment.service.helper.BoundedCache;
+import com.project.schoolmanagment.service.helper.ReferenceDataCache;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.stream.Collectors;
+
+@Service
+public class MetricsService {
+
+    private final ReferenceDataCache referenceDataCache;
+    private final UserDetailsCache userDetailsCache;
+    private final JwtUtils jwtUtils;
+    private final MetricsRecorder metricsRecorder;
+    private final ExecutorPasswordEncoder passwordEncoder;
+    private final ThreadPoolTaskExecutor passwordHashingExecutor;
+    private final TimetableService timetableService;
+
+    public MetricsService(ReferenceDataCache referenceDataCache, UserDetailsCache userDetailsCache, JwtUtils jwtUtils,
+                          MetricsRecorder metricsRecorder, ExecutorPasswordEncoder passwordEncoder,
+                          @Qualifier(ExecutionConfig.PASSWORD_HASHING_EXECUTOR) ThreadPoolTaskExecutor passwordHashingExecutor,
+                          TimetableService timetableService) {
+        this.referenceDataCache = referenceDataCache;
+        this.userDetailsCache = userDetailsCache;
+        this.jwtUtils = jwtUtils;
+        this.metricsRecorder = metricsRecorder;
+        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.timetableService = timetableService;
+    }
+
+    public List<CacheStatsResponse> getCacheStats() {
+
+        List<CacheStatsResponse> stats = new ArrayList<>();
+        stats.add(mapCacheToStats("userRoles", referenceDataCache.getUserRoles()));
+        stats.add(mapCacheToStats("lessons", referenceDataCache.getLessons()));
+        stats.add(mapCacheToStats("educationTerms", referenceDataCache.getEducationTerms()));
+        stats.add(mapCacheToStats("principals", userDetailsCache.getCache()));
+        stats.add(mapCacheToStats("verifiedTokens", jwtUtils.getVerifiedTokenCache()));
+        stats.add(mapCacheToStats("timetables", timetableService.getCache()));
+        return stats;
+    }
+
+    //a queue depth close to the capacity means logins are about to be rejected with 429
+    public PasswordHashingStatsResponse getPasswordHashingStats() {
+        ThreadPoolExecutor executor = passwordHashingExecutor.getThreadPoolExecutor();
+        return PasswordHashingStatsResponse.builder()
+                .poolSize(executor.getMaximumPoolSize())
+                .activeThreads(executor.getActiveCount())
+                .queueDepth(executor.getQueue().size())
+                .queueCapacity(passwordEncoder.getQueueCapacity())
+                .completed(executor.getCompletedTaskCount())
+                .rejected(passwordEncoder.getRejected())
+                .build();
+    }
+
+    //slowest first by p95, then by mean
+    public List<OperationMetricsResponse> getServiceMetrics() {
+        return mapOperationsToResponses(metricsRecorder.getServices(), false);
+    }
+
+    public List<OperationMetricsResponse> getRequestMetrics() {
+        return mapOperationsToResponses(metricsRecorder.getRequests(), true);
+    }
+
+    public void resetOperationMetrics() {
+        metricsRecorder.reset();
+    }
+
+    private List<OperationMetricsResponse> mapOperationsToResponses(Map<String, OperationMetrics> operations,
+                                                                    boolean withThreshold) {
+        return operations.entrySet()
+                .stream()
+                .map(entry -> mapOperationToResponse(entry.getKey(), entry.getValue(), withThreshold))
+                .sorted(Comparator.comparingDouble(OperationMetricsResponse::getP95Ms)
+                        .thenComparingDouble(OperationMetricsResponse::getMeanMs)
+                        .reversed())
+                .collect(Collectors.toList());
+    }
+
+    private OperationMetricsResponse mapOperationToResponse(String name, OperationMetrics operation,
+                                                            boolean withThreshold) {
+        LatencyHistogram latency = operation.getLatency();
+        long count = latency.getCount();
+        return OperationMetricsResponse.builder()
+                .name(name)
+                .count(count)
+                .meanMs(latency.getMeanMs())
+                .p50Ms(latency.getPercentileMs(50))
+                .p95Ms(latency.getPercentileMs(95))
+                .p99Ms(latency.getPercentileMs(99))
+                .maxMs(latency.getMaxMs())
+                .meanQueries(count == 0 ? 0 : (double) operation.getQueries() / count)
+                .maxQueries(operation.getMaxQueries())
+                .overQueryThreshold(withThreshold ? operation.getOverQueryThreshold() : null)
+                .build();
+    }
+
+    private CacheStatsResponse mapCacheToStats(String name, BoundedCache<?, ?> cache) {
+        return CacheStatsResponse.builder()
+                .name(name)
+                .size(cache.size())
+                .hits(cache.getHits())
+                .misses(cache.getMisses())
+                .hitRatio(cache.getHitRatio())
+                .build();
+    }
+}
@@ -0,0 +1,38 @@
+package com.project.schoolmanagment.service.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+//latency and sql statement counts of one service method or one endpoint
+public class OperationMetrics {
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder queries = new LongAdder();
+    private final LongAccumulator maxQueries = new LongAccumulator(Long::max, 0);
+    private final LongAdder overQueryThreshold = new LongAdder();
+
+    public void record(long nanos, int queryCount, boolean overThreshold) {
+        latency.record(nanos);
+        queries.add(queryCount);
+        maxQueries.accumulate(queryCount);
+        if (overThreshold) {
+            overQueryThreshold.increment();
+        }
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public long getQueries() {
+        return queries.sum();
+    }
+
+    public long getMaxQueries() {
+        return maxQueries.get();
+    }
+
+    public long getOverQueryThreshold() {
+        return overQueryThreshold.sum();
+    }
+}
@@ -0,0 +1,35 @@
+package com.project.schoolmanagment.service.metrics;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Counts the sql statements Hibernate prepares on the current thread.
+ * Global Hibernate statistics can not tell requests apart, this counter is per thread
+ * and costs one increment per statement. Statements of JdbcTemplate are not seen.
+ */
+@Component
+public class QueryCountInspector implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private static final ThreadLocal<int[]> COUNTER = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        COUNTER.get()[0]++;
+        return sql;
+    }
+
+    //statements counted on this thread so far, callers take the difference around their work
+    public int getCount() {
+        return COUNTER.get()[0];
+    }
+}
@@ -0,0 +1,62 @@
+package com.project.schoolmanagment.service.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Latency and sql statement count per endpoint. Runs before the security filters,
+ * so loading the principal is part of the request. Requests above the statement
+ * threshold are counted and logged, a growing count usually means an N+1 query.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RequestMetricsFilter.class);
+
+    private final MetricsRecorder metricsRecorder;
+    private final QueryCountInspector queryCountInspector;
+    private final int queryThreshold;
+
+    public RequestMetricsFilter(MetricsRecorder metricsRecorder,
+                                QueryCountInspector queryCountInspector,
+                                @Value("${backendapi.app.metrics.queryThreshold}") int queryThreshold) {
+        this.metricsRecorder = metricsRecorder;
+        this.queryCountInspector = queryCountInspector;
+        this.queryThreshold = queryThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        int queriesBefore = queryCountInspector.getCount();
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long nanos = System.nanoTime() - start;
+            int queryCount = queryCountInspector.getCount() - queriesBefore;
+            //the mapped pattern keeps ids out of the key, requests rejected before dispatch have none
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String endpoint = request.getMethod() + " " + (pattern == null ? "unmatched" : pattern);
+            boolean overThreshold = queryCount > queryThreshold;
+            if (overThreshold) {
+                LOGGER.warn("{} ran {} sql statements, threshold is {}", endpoint, queryCount, queryThreshold);
+            }
+            metricsRecorder.recordRequest(endpoint, nanos, queryCount, overThreshold);
+        }
+    }
+}
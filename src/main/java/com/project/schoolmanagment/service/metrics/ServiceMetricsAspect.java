@@ -0,0 +1,33 @@
+package com.project.schoolmanagment.service.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+//latency and statement count of every public method of the business and user services
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+
+    private final MetricsRecorder metricsRecorder;
+    private final QueryCountInspector queryCountInspector;
+
+    @Around("execution(public * com.project.schoolmanagment.service.business..*(..)) || " +
+            "execution(public * com.project.schoolmanagment.service.user..*(..))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        int queriesBefore = queryCountInspector.getCount();
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            //nested service calls are included in the time and statements of the caller
+            metricsRecorder.recordServiceCall(
+                    joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName(),
+                    System.nanoTime() - start,
+                    queryCountInspector.getCount() - queriesBefore);
+        }
+    }
+}
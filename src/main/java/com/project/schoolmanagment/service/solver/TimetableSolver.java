@@ -0,0 +1,588 @@
+package com.project.schoolmanagment.service.solver;
+
+import com.project.schoolmanagment.entity.enums.Day;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * Assigns the lesson programs of one education term to teachers and students without overlaps.
+ * <ul>
+ *     <li>every program without a teacher gets one, teachers are balanced by teaching minutes</li>
+ *     <li>every student gets a program for each compulsory lesson of the term,
+ *     then electives until the minimum credits are reached. sections with a teacher come first,
+ *     then the emptier ones</li>
+ * </ul>
+ * Existing assignments are kept, the solution only lists what to add.
+ * Works on plain ids, no database access. All limits are iteration counts rather than time,
+ * so the same input always gives the same solution.
+ */
+@Component
+public class TimetableSolver {
+
+    //search nodes per group of students, compulsory lessons of a term are few so this is rarely reached
+    private static final int MAX_SEARCH_NODES = 20_000;
+
+    //students of a group placed on the same sections, small enough that equivalent sections fill evenly
+    private static final int STUDENTS_PER_BATCH = 10;
+
+    public Solution solve(Problem problem) {
+
+        ProgramIndex index = new ProgramIndex(problem.getPrograms());
+
+        List<Long> unassignedLessonProgramIds = new ArrayList<>();
+        Map<Long, List<Long>> teacherAssignments = assignTeachers(index, problem.getTeachers(), unassignedLessonProgramIds);
+
+        List<Shortfall> shortfalls = new ArrayList<>();
+        Map<Long, List<Long>> studentAssignments = assignStudents(index, problem.getStudents(),
+                index.toBitSet(unassignedLessonProgramIds), problem.getMinCredits(), shortfalls);
+
+        return new Solution(teacherAssignments, studentAssignments, unassignedLessonProgramIds, shortfalls);
+    }
+
+    /**
+     * forward checking: the program with the fewest free teachers is placed first, on the least loaded one.
+     * programs left without a teacher are then repaired by moving one blocking program to another teacher,
+     * and finally programs move from the busiest teachers while that lowers their load
+     */
+    private Map<Long, List<Long>> assignTeachers(ProgramIndex index, List<Participant> teachers,
+                                                 List<Long> unassignedLessonProgramIds) {
+
+        int teacherCount = teachers.size();
+        BitSet[] held = new BitSet[teacherCount];
+        BitSet[] added = new BitSet[teacherCount];
+        long[] load = new long[teacherCount];
+        BitSet taught = new BitSet();
+        for (int t = 0; t < teacherCount; t++) {
+            held[t] = index.toBitSet(teachers.get(t).getLessonProgramIds());
+            added[t] = new BitSet();
+            load[t] = index.termMinutes(held[t]);
+            taught.or(held[t]);
+        }
+
+        BitSet open = (BitSet) index.term.clone();
+        open.andNot(taught);
+
+        List<Integer> unassignable = new ArrayList<>();
+        while (!open.isEmpty()) {
+            int next = -1;
+            int nextDomain = Integer.MAX_VALUE;
+            for (int p = open.nextSetBit(0); p >= 0; p = open.nextSetBit(p + 1)) {
+                int domain = 0;
+                for (int t = 0; t < teacherCount; t++) {
+                    if (!index.conflicts[p].intersects(held[t])) {
+                        domain++;
+                    }
+                }
+                //longer programs first on ties, they are harder to place later
+                if (domain < nextDomain || (domain == nextDomain && index.minutes[p] > index.minutes[next])) {
+                    next = p;
+                    nextDomain = domain;
+                }
+            }
+            open.clear(next);
+
+            int teacher = findLeastLoaded(index, held, load, next, -1);
+            if (teacher < 0) {
+                unassignable.add(next);
+            } else {
+                give(index, held, added, load, teacher, next);
+            }
+        }
+
+        //a program blocked by exactly one solver placed program on some teacher takes its place
+        for (int p : unassignable) {
+            boolean repaired = false;
+            for (int t = 0; t < teacherCount && !repaired; t++) {
+                BitSet blocking = (BitSet) index.conflicts[p].clone();
+                blocking.and(held[t]);
+                int blocker = blocking.nextSetBit(0);
+                if (blocking.cardinality() != 1 || !added[t].get(blocker)) {
+                    continue;
+                }
+                take(index, held, added, load, t, blocker);
+                int other = findLeastLoaded(index, held, load, blocker, t);
+                if (other >= 0) {
+                    give(index, held, added, load, other, blocker);
+                    give(index, held, added, load, t, p);
+                    repaired = true;
+                } else {
+                    give(index, held, added, load, t, blocker);
+                }
+            }
+            if (!repaired) {
+                unassignedLessonProgramIds.add(index.programs.get(p).getId());
+            }
+        }
+
+        //every move lowers the sum of squared loads, so this ends
+        boolean moved = true;
+        while (moved) {
+            moved = false;
+            Integer[] byLoad = new Integer[teacherCount];
+            for (int t = 0; t < teacherCount; t++) {
+                byLoad[t] = t;
+            }
+            Arrays.sort(byLoad, Comparator.comparingLong((Integer t) -> load[t]).reversed());
+
+            for (int t : byLoad) {
+                for (int q = added[t].nextSetBit(0); q >= 0 && !moved; q = added[t].nextSetBit(q + 1)) {
+                    int other = findLeastLoaded(index, held, load, q, t);
+                    if (other >= 0 && load[other] + index.minutes[q] < load[t]) {
+                        take(index, held, added, load, t, q);
+                        give(index, held, added, load, other, q);
+                        moved = true;
+                    }
+                }
+                if (moved) {
+                    break;
+                }
+            }
+        }
+
+        Map<Long, List<Long>> assignments = new TreeMap<>();
+        for (int t = 0; t < teacherCount; t++) {
+            if (!added[t].isEmpty()) {
+                assignments.put(teachers.get(t).getId(), index.toIds(added[t]));
+            }
+        }
+        return assignments;
+    }
+
+    //-1 if no teacher can take the program
+    private int findLeastLoaded(ProgramIndex index, BitSet[] held, long[] load, int program, int excludedTeacher) {
+        int best = -1;
+        for (int t = 0; t < held.length; t++) {
+            if (t != excludedTeacher && !index.conflicts[program].intersects(held[t])
+                    && (best < 0 || load[t] < load[best])) {
+                best = t;
+            }
+        }
+        return best;
+    }
+
+    private void give(ProgramIndex index, BitSet[] held, BitSet[] added, long[] load, int teacher, int program) {
+        held[teacher].set(program);
+        added[teacher].set(program);
+        load[teacher] += index.minutes[program];
+    }
+
+    private void take(ProgramIndex index, BitSet[] held, BitSet[] added, long[] load, int teacher, int program) {
+        held[teacher].clear(program);
+        added[teacher].clear(program);
+        load[teacher] -= index.minutes[program];
+    }
+
+    /**
+     * students holding the same programs have the same problem, so a group is solved once per batch of
+     * STUDENTS_PER_BATCH students. batches of all groups take turns and every placed batch counts towards
+     * the enrollment, so the next one prefers the emptier of equivalent sections.
+     * batches are solved one after the other, each depends on the enrollment left by the previous ones
+     * @param unstaffed programs assignTeachers found no teacher for, taken only when nothing else fits
+     */
+    private Map<Long, List<Long>> assignStudents(ProgramIndex index, List<Participant> students, BitSet unstaffed,
+                                                 int minCredits, List<Shortfall> shortfalls) {
+
+        Map<BitSet, List<Long>> groups = new LinkedHashMap<>();
+        for (Participant student : students) {
+            groups.computeIfAbsent(index.toBitSet(student.getLessonProgramIds()), held -> new ArrayList<>())
+                    .add(student.getId());
+        }
+
+        int[] enrollment = new int[index.size()];
+        for (Map.Entry<BitSet, List<Long>> group : groups.entrySet()) {
+            BitSet held = group.getKey();
+            for (int p = held.nextSetBit(0); p >= 0; p = held.nextSetBit(p + 1)) {
+                enrollment[p] += group.getValue().size();
+            }
+        }
+
+        Map<Long, List<Long>> assignments = new TreeMap<>();
+        List<Map.Entry<BitSet, List<Long>>> open = new ArrayList<>(groups.entrySet());
+        for (int from = 0; !open.isEmpty(); from += STUDENTS_PER_BATCH) {
+            Iterator<Map.Entry<BitSet, List<Long>>> iterator = open.iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<BitSet, List<Long>> group = iterator.next();
+                List<Long> studentIds = group.getValue();
+                List<Long> batch = studentIds.subList(from, Math.min(from + STUDENTS_PER_BATCH, studentIds.size()));
+                if (from + batch.size() == studentIds.size()) {
+                    iterator.remove();
+                }
+
+                StudentPlan plan = new StudentSearch(index, enrollment, unstaffed, group.getKey()).solve(minCredits);
+                for (int p = plan.added.nextSetBit(0); p >= 0; p = plan.added.nextSetBit(p + 1)) {
+                    enrollment[p] += batch.size();
+                }
+
+                List<Long> addedIds = index.toIds(plan.added);
+                for (Long studentId : batch) {
+                    if (!addedIds.isEmpty()) {
+                        assignments.put(studentId, addedIds);
+                    }
+                    if (!plan.missingLessonIds.isEmpty() || plan.missingCredits > 0) {
+                        shortfalls.add(new Shortfall(studentId, plan.missingLessonIds, plan.missingCredits));
+                    }
+                }
+            }
+        }
+        shortfalls.sort(Comparator.comparing(Shortfall::getStudentId));
+        return assignments;
+    }
+
+    /**
+     * depth first search over the compulsory lessons, the lesson with the fewest possible programs first.
+     * choosing a program blocks every program overlapping it, which shrinks the options of the rest
+     */
+    private static class StudentSearch {
+
+        private final ProgramIndex index;
+        private final int[] enrollment;
+        private final BitSet unstaffed;
+        private final BitSet held;
+        private final BitSet candidates;
+
+        private int nodes;
+        private boolean finished;
+        private BitSet bestChosen = new BitSet();
+        private List<Long> bestRemaining;
+
+        private StudentSearch(ProgramIndex index, int[] enrollment, BitSet unstaffed, BitSet held) {
+            this.index = index;
+            this.enrollment = enrollment;
+            this.unstaffed = unstaffed;
+            this.held = held;
+            this.candidates = (BitSet) index.term.clone();
+            this.candidates.andNot(held);
+        }
+
+        private StudentPlan solve(int minCredits) {
+            BitSet blocked = new BitSet();
+            for (int p = held.nextSetBit(0); p >= 0; p = held.nextSetBit(p + 1)) {
+                blocked.or(index.conflicts[p]);
+            }
+
+            Set<Long> taken = new TreeSet<>();
+            for (int p = held.nextSetBit(0); p >= 0; p = held.nextSetBit(p + 1)) {
+                if (index.term.get(p)) {
+                    index.programs.get(p).getLessons().forEach(lesson -> taken.add(lesson.getId()));
+                }
+            }
+            List<Long> needed = new ArrayList<>(index.compulsoryLessonIds);
+            needed.removeAll(taken);
+
+            bestRemaining = needed;
+            search(new BitSet(), blocked, needed, Collections.emptyList());
+
+            BitSet chosen = bestChosen;
+            for (int p = chosen.nextSetBit(0); p >= 0; p = chosen.nextSetBit(p + 1)) {
+                blocked.or(index.conflicts[p]);
+                index.programs.get(p).getLessons().forEach(lesson -> taken.add(lesson.getId()));
+            }
+
+            int credits = taken.stream().mapToInt(index.creditScores::get).sum();
+            if (credits < minCredits) {
+                credits += addElectives(chosen, blocked, taken, minCredits - credits);
+            }
+            return new StudentPlan(chosen, bestRemaining, Math.max(0, minCredits - credits));
+        }
+
+        /**
+         * @param remaining compulsory lessons still to be placed
+         * @param dropped compulsory lessons no program can take any more on this branch
+         */
+        private void search(BitSet chosen, BitSet blocked, List<Long> remaining, List<Long> dropped) {
+            if (++nodes > MAX_SEARCH_NODES) {
+                finished = true;
+                return;
+            }
+
+            //a lesson without options is given up, the others are still placed.
+            //branching on it would end the whole branch with nothing chosen
+            List<Long> open = new ArrayList<>();
+            List<Long> nextDropped = dropped;
+            BitSet options = null;
+            for (Long lessonId : remaining) {
+                BitSet lessonOptions = (BitSet) index.programsByLesson.get(lessonId).clone();
+                lessonOptions.and(candidates);
+                lessonOptions.andNot(blocked);
+                lessonOptions.andNot(chosen);
+                if (lessonOptions.isEmpty()) {
+                    if (nextDropped == dropped) {
+                        nextDropped = new ArrayList<>(dropped);
+                    }
+                    nextDropped.add(lessonId);
+                    continue;
+                }
+                open.add(lessonId);
+                if (options == null || lessonOptions.cardinality() < options.cardinality()) {
+                    options = lessonOptions;
+                }
+            }
+
+            if (nextDropped.size() + open.size() < bestRemaining.size()) {
+                bestChosen = (BitSet) chosen.clone();
+                List<Long> missing = new ArrayList<>(nextDropped);
+                missing.addAll(open);
+                Collections.sort(missing);
+                bestRemaining = missing;
+            }
+            if (open.isEmpty()) {
+                //nothing left to place, the search can only stop early if nothing was given up either
+                finished = nextDropped.isEmpty();
+                return;
+            }
+            //dropped lessons never come back, this branch can not beat the best one any more
+            if (nextDropped.size() >= bestRemaining.size()) {
+                return;
+            }
+
+            for (int p : orderOptions(options, open)) {
+                List<Long> nextRemaining = new ArrayList<>(open);
+                index.programs.get(p).getLessons().forEach(lesson -> nextRemaining.remove(lesson.getId()));
+                BitSet nextBlocked = (BitSet) blocked.clone();
+                nextBlocked.or(index.conflicts[p]);
+
+                chosen.set(p);
+                search(chosen, nextBlocked, nextRemaining, nextDropped);
+                chosen.clear(p);
+                if (finished) {
+                    return;
+                }
+            }
+        }
+
+        //programs with a teacher first, then the ones covering more of the remaining lessons, then the less crowded
+        private List<Integer> orderOptions(BitSet options, List<Long> remaining) {
+            List<Integer> ordered = new ArrayList<>();
+            for (int p = options.nextSetBit(0); p >= 0; p = options.nextSetBit(p + 1)) {
+                ordered.add(p);
+            }
+            ordered.sort(Comparator
+                    .comparing((Integer p) -> unstaffed.get(p))
+                    .thenComparing(Comparator.comparingLong((Integer p) -> index.programs.get(p).getLessons().stream()
+                            .filter(lesson -> remaining.contains(lesson.getId())).count())
+                            .reversed())
+                    .thenComparingInt(p -> enrollment[p])
+                    .thenComparingInt(p -> p));
+            return ordered;
+        }
+
+        //greedy, a program with a teacher first, then the one adding the most new credits
+        private int addElectives(BitSet chosen, BitSet blocked, Set<Long> taken, int creditsNeeded) {
+            int added = 0;
+            while (added < creditsNeeded) {
+                int best = -1;
+                int bestCredits = 0;
+                for (int p = candidates.nextSetBit(0); p >= 0; p = candidates.nextSetBit(p + 1)) {
+                    if (blocked.get(p) || chosen.get(p)) {
+                        continue;
+                    }
+                    int credits = index.programs.get(p).getLessons().stream()
+                            .filter(lesson -> !taken.contains(lesson.getId()))
+                            .mapToInt(ProgramLesson::getCreditScore)
+                            .sum();
+                    if (credits > 0 && (best < 0 || isBetterElective(p, credits, best, bestCredits))) {
+                        best = p;
+                        bestCredits = credits;
+                    }
+                }
+                if (best < 0) {
+                    break;
+                }
+                chosen.set(best);
+                blocked.or(index.conflicts[best]);
+                index.programs.get(best).getLessons().forEach(lesson -> taken.add(lesson.getId()));
+                added += bestCredits;
+            }
+            return added;
+        }
+
+        private boolean isBetterElective(int program, int credits, int best, int bestCredits) {
+            if (unstaffed.get(program) != unstaffed.get(best)) {
+                return !unstaffed.get(program);
+            }
+            return credits > bestCredits || (credits == bestCredits && enrollment[program] < enrollment[best]);
+        }
+    }
+
+    @AllArgsConstructor
+    private static class StudentPlan {
+
+        private final BitSet added;
+
+        private final List<Long> missingLessonIds;
+
+        private final int missingCredits;
+    }
+
+    //programs ordered by id, every program is addressed by its position in bit sets
+    private static class ProgramIndex {
+
+        private final List<Program> programs;
+        private final Map<Long, Integer> positions = new HashMap<>();
+        private final BitSet[] conflicts;
+        private final int[] minutes;
+        private final BitSet term = new BitSet();
+        private final Map<Long, BitSet> programsByLesson = new HashMap<>();
+        private final Map<Long, Integer> creditScores = new HashMap<>();
+        private final List<Long> compulsoryLessonIds;
+
+        private ProgramIndex(List<Program> unorderedPrograms) {
+            programs = new ArrayList<>(unorderedPrograms);
+            programs.sort(Comparator.comparing(Program::getId));
+
+            conflicts = new BitSet[programs.size()];
+            minutes = new int[programs.size()];
+            Set<Long> compulsory = new TreeSet<>();
+            for (int p = 0; p < programs.size(); p++) {
+                Program program = programs.get(p);
+                positions.put(program.getId(), p);
+                conflicts[p] = new BitSet();
+                minutes[p] = (int) Duration.between(program.getStartTime(), program.getStopTime()).toMinutes();
+                if (program.isInTerm()) {
+                    term.set(p);
+                    for (ProgramLesson lesson : program.getLessons()) {
+                        programsByLesson.computeIfAbsent(lesson.getId(), id -> new BitSet()).set(p);
+                        creditScores.put(lesson.getId(), lesson.getCreditScore());
+                        if (lesson.isCompulsory()) {
+                            compulsory.add(lesson.getId());
+                        }
+                    }
+                }
+            }
+            compulsoryLessonIds = new ArrayList<>(compulsory);
+
+            //same [startTime, stopTime) overlap as DateTimeValidator, so an applied plan passes its check
+            for (int p = 0; p < programs.size(); p++) {
+                for (int q = p + 1; q < programs.size(); q++) {
+                    Program first = programs.get(p);
+                    Program second = programs.get(q);
+                    if (first.getDay() == second.getDay()
+                            && first.getStartTime().isBefore(second.getStopTime())
+                            && second.getStartTime().isBefore(first.getStopTime())) {
+                        conflicts[p].set(q);
+                        conflicts[q].set(p);
+                    }
+                }
+            }
+        }
+
+        private int size() {
+            return programs.size();
+        }
+
+        //unknown ids (programs deleted meanwhile) are ignored
+        private BitSet toBitSet(Collection<Long> lessonProgramIds) {
+            BitSet bits = new BitSet();
+            for (Long id : lessonProgramIds) {
+                Integer position = positions.get(id);
+                if (position != null) {
+                    bits.set(position);
+                }
+            }
+            return bits;
+        }
+
+        private List<Long> toIds(BitSet bits) {
+            List<Long> ids = new ArrayList<>();
+            for (int p = bits.nextSetBit(0); p >= 0; p = bits.nextSetBit(p + 1)) {
+                ids.add(programs.get(p).getId());
+            }
+            return ids;
+        }
+
+        private long termMinutes(BitSet bits) {
+            long total = 0;
+            for (int p = bits.nextSetBit(0); p >= 0; p = bits.nextSetBit(p + 1)) {
+                if (term.get(p)) {
+                    total += minutes[p];
+                }
+            }
+            return total;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Problem {
+
+        //every program, the ones of other terms still block overlapping hours
+        private final List<Program> programs;
+
+        private final List<Participant> teachers;
+
+        private final List<Participant> students;
+
+        private final int minCredits;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Program {
+
+        private final Long id;
+
+        private final Day day;
+
+        private final LocalTime startTime;
+
+        private final LocalTime stopTime;
+
+        //belongs to the term being solved
+        private final boolean inTerm;
+
+        private final List<ProgramLesson> lessons;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class ProgramLesson {
+
+        private final Long id;
+
+        private final int creditScore;
+
+        private final boolean compulsory;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Participant {
+
+        private final Long id;
+
+        //programs held already, in any term
+        private final Set<Long> lessonProgramIds;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Solution {
+
+        //user id -> ids of the programs to add, both ordered
+        private final Map<Long, List<Long>> teacherAssignments;
+
+        private final Map<Long, List<Long>> studentAssignments;
+
+        //no teacher is free at their hours
+        private final List<Long> unassignedLessonProgramIds;
+
+        private final List<Shortfall> shortfalls;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Shortfall {
+
+        private final Long studentId;
+
+        //compulsory lessons no free program could cover
+        private final List<Long> missingLessonIds;
+
+        private final int missingCredits;
+    }
+}
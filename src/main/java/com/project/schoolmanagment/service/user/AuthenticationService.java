@@ -9,6 +9,8 @@ import com.project.schoolmanagment.payload.request.user.PasswordUpdateRequest;
 import com.project.schoolmanagment.payload.response.user.LoginResponse;
 import com.project.schoolmanagment.repository.user.UserRepository;
 import com.project.schoolmanagment.security.jwt.JwtUtils;
+import com.project.schoolmanagment.security.service.TokenVersionRegistry;
+import com.project.schoolmanagment.security.service.UserDetailsCache;
 import com.project.schoolmanagment.security.service.UserDetailsImpl;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -39,6 +41,10 @@ public class AuthenticationService {
 
     private final UserMapper userMapper;
 
+    private final UserDetailsCache userDetailsCache;
+
+    private final TokenVersionRegistry tokenVersionRegistry;
+
 
 
     public ResponseEntity<LoginResponse> authenticateUser(LoginRequest request) {
@@ -96,5 +102,18 @@ public class AuthenticationService {
         user.setPassword(passwordEncoder.encode(passwordUpdateRequest.getNewPassword()));
 
         userRepository.save(user);
+        //cached principal still holds the old password
+        userDetailsCache.evict(userName);
+        //tokens issued with the old password must not be accepted any more
+        tokenVersionRegistry.revokeAll(userName);
+    }
+
+    public void logout(HttpServletRequest request) {
+
+        String userName = (String) request.getAttribute("username");
+
+        //all tokens of this user are revoked
+        tokenVersionRegistry.revokeAll(userName);
+        userDetailsCache.evict(userName);
     }
 }
@@ -9,34 +9,59 @@ import com.project.schoolmanagment.payload.messages.SuccessMessages;
 import com.project.schoolmanagment.payload.request.user.ChooseLessonProgramWithId;
 import com.project.schoolmanagment.payload.request.user.StudentRequest;
 import com.project.schoolmanagment.payload.request.user.StudentRequestWithoutPassword;
+import com.project.schoolmanagment.payload.response.abstracts.BatchRowErrorResponse;
 import com.project.schoolmanagment.payload.response.abstracts.ResponseMessage;
+import com.project.schoolmanagment.payload.response.abstracts.BatchSaveResponse;
 import com.project.schoolmanagment.payload.response.user.StudentResponse;
 import com.project.schoolmanagment.repository.user.UserRepository;
+import com.project.schoolmanagment.security.service.ExecutorPasswordEncoder;
+import com.project.schoolmanagment.security.service.UserDetailsCache;
 import com.project.schoolmanagment.service.business.LessonProgramService;
+import com.project.schoolmanagment.service.business.TimetableService;
 import com.project.schoolmanagment.service.helper.MethodHelper;
+import com.project.schoolmanagment.service.helper.StudentNumberAllocator;
 import com.project.schoolmanagment.service.validator.DateTimeValidator;
 import com.project.schoolmanagment.service.validator.UniquePropertyValidator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import javax.servlet.http.HttpServletRequest;
-import java.util.Set;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class StudentService {
 
+    //users have IDENTITY ids, Hibernate would send the inserts of saveAll one by one
+    private static final String INSERT_STUDENT_SQL =
+            "INSERT INTO t_user (username, name, surname, birth_day, birth_place, ssn, phone_number, email, " +
+            "gender, password, user_role_id, advisor_teacher_id, mother_name, father_name, built_in, " +
+            "student_number, is_active, is_advisor) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, true, false)";
+
     private final UserRepository userRepository;
     private final MethodHelper methodHelper;
     private final UniquePropertyValidator uniquePropertyValidator;
     private final UserMapper userMapper;
     private final UserRoleService userRoleService;
-    private final PasswordEncoder passwordEncoder;
+    private final ExecutorPasswordEncoder passwordEncoder;
     private final LessonProgramService lessonProgramService;
     private final DateTimeValidator dateTimeValidator;
+    private final UserDetailsCache userDetailsCache;
+    private final StudentNumberAllocator studentNumberAllocator;
+    private final Validator validator;
+    private final TimetableService timetableService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
 
     public ResponseMessage<StudentResponse> saveStudent(StudentRequest studentRequest) {
         //check DB if advisor teacher exist
@@ -56,7 +81,7 @@ public class StudentService {
         student.setPassword(passwordEncoder.encode(student.getPassword()));
         student.setActive(true);
         student.setIsAdvisor(false);
-        student.setStudentNumber(getLastNumber());
+        student.setStudentNumber(studentNumberAllocator.nextStudentNumber());
 
         User savedStudent = userRepository.save(student);
 
@@ -67,14 +92,105 @@ public class StudentService {
 
     }
 
-    private int getLastNumber(){
+    /**
+     * saves many students in one request. invalid rows are skipped and reported,
+     * the valid ones are saved together. validation and hashing run before the transaction,
+     * so no connection is held while BCrypt works through the rows.
+     * @param studentRequests rows of the import
+     * @return saved/failed counts and the errors of every failed row
+     */
+    public ResponseMessage<BatchSaveResponse> bulkSaveStudents(List<StudentRequest> studentRequests) {
+
+        Map<Integer, List<String>> errors = new TreeMap<>();
+
+        //bean validation, same rules as /save
+        for (int i = 0; i < studentRequests.size(); i++) {
+            Set<ConstraintViolation<StudentRequest>> violations = validator.validate(studentRequests.get(i));
+            if (!violations.isEmpty()) {
+                errors.put(i, violations.stream().map(ConstraintViolation::getMessage).collect(Collectors.toList()));
+            }
+        }
+
+        //all advisor teachers of the batch with one query
+        Set<Long> advisorIds = studentRequests.stream()
+                .map(StudentRequest::getAdvisorTeacherId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, User> advisors = userRepository.findAllById(advisorIds)
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<Integer> validRows = new ArrayList<>();
+        for (int i = 0; i < studentRequests.size(); i++) {
+            if (errors.containsKey(i)) {
+                continue;
+            }
+            User advisorTeacher = advisors.get(studentRequests.get(i).getAdvisorTeacherId());
+            if (advisorTeacher == null) {
+                errors.put(i, Collections.singletonList(
+                        String.format(ErrorMessages.NOT_FOUND_USER_MESSAGE, studentRequests.get(i).getAdvisorTeacherId())));
+            } else if (!Boolean.TRUE.equals(advisorTeacher.getIsAdvisor())) {
+                errors.put(i, Collections.singletonList(
+                        String.format(ErrorMessages.NOT_FOUND_ADVISOR_MESSAGE, advisorTeacher.getId())));
+            } else {
+                validRows.add(i);
+            }
+        }
 
-        if(!userRepository.findUsersByRoleType(RoleType.STUDENT)){
-            return 1000;
-        }else {
-            return userRepository.getMaxStudentNumber()+1;
+        //username, ssn, phone and email of all valid rows, against the DB and against each other
+        List<StudentRequest> validRequests = validRows.stream().map(studentRequests::get).collect(Collectors.toList());
+        uniquePropertyValidator.findDuplicates(validRequests)
+                .forEach((index, messages) -> errors.put(validRows.get(index), messages));
+
+        List<StudentRequest> rowsToSave = validRows.stream()
+                .filter(i -> !errors.containsKey(i))
+                .map(studentRequests::get)
+                .collect(Collectors.toList());
+
+        if (!rowsToSave.isEmpty()) {
+            //BCrypt is the slowest part of the import, hash on the password hashing pool.
+            //waits for free slots there, a login burst does not fail the import
+            List<String> hashedPasswords = passwordEncoder.encodeAll(rowsToSave.stream()
+                    .map(StudentRequest::getPassword)
+                    .collect(Collectors.toList()));
+
+            Integer studentRoleId = userRoleService.getUserRole(RoleType.STUDENT).getId();
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Integer> studentNumbers = studentNumberAllocator.nextStudentNumbers(rowsToSave.size());
+                List<Object[]> rows = new ArrayList<>(rowsToSave.size());
+                for (int i = 0; i < rowsToSave.size(); i++) {
+                    StudentRequest studentRequest = rowsToSave.get(i);
+                    rows.add(new Object[]{
+                            studentRequest.getUsername(), studentRequest.getName(), studentRequest.getSurname(),
+                            studentRequest.getBirthDay(), studentRequest.getBirthPlace(), studentRequest.getSsn(),
+                            studentRequest.getPhoneNumber(), studentRequest.getEmail(),
+                            studentRequest.getGender() == null ? null : studentRequest.getGender().name(),
+                            hashedPasswords.get(i), studentRoleId, studentRequest.getAdvisorTeacherId(),
+                            studentRequest.getMotherName(), studentRequest.getFatherName(),
+                            studentRequest.getBuiltIn(), studentNumbers.get(i)});
+                }
+                jdbcTemplate.batchUpdate(INSERT_STUDENT_SQL, rows);
+            });
         }
 
+        List<BatchRowErrorResponse> errorResponses = errors.entrySet()
+                .stream()
+                .map(entry -> BatchRowErrorResponse.builder()
+                        .row(entry.getKey())
+                        .identifier(studentRequests.get(entry.getKey()).getUsername())
+                        .messages(entry.getValue())
+                        .build())
+                .collect(Collectors.toList());
+
+        return ResponseMessage.<BatchSaveResponse>builder()
+                .object(BatchSaveResponse.builder()
+                        .savedCount(rowsToSave.size())
+                        .failedCount(errorResponses.size())
+                        .errors(errorResponses)
+                        .build())
+                .message(String.format(SuccessMessages.STUDENT_BULK_SAVE, rowsToSave.size()))
+                .httpStatus(HttpStatus.OK)
+                .build();
     }
 
     public ResponseEntity<String> updateStudent(StudentRequestWithoutPassword studentRequestWithoutPassword,
@@ -100,6 +216,7 @@ public class StudentService {
         student.setUsername(studentRequestWithoutPassword.getUsername());
 
         userRepository.save(student);
+        userDetailsCache.evict(username);
 
         return ResponseEntity.ok(SuccessMessages.STUDENT_UPDATE);
 
@@ -123,13 +240,18 @@ public class StudentService {
         studentFromMapper.setUserRole(userRoleService.getUserRole(RoleType.STUDENT));
         studentFromMapper.setActive(true);
 
+        User savedStudent = userRepository.save(studentFromMapper);
+        userDetailsCache.evict(student.getUsername());
+        timetableService.evict(Collections.singletonList(id));
+
         return ResponseMessage.<StudentResponse>builder()
                 .message(SuccessMessages.STUDENT_UPDATE)
-                .object(userMapper.mapUserToStudentResponse(userRepository.save(studentFromMapper)))
+                .object(userMapper.mapUserToStudentResponse(savedStudent))
                 .httpStatus(HttpStatus.OK)
                 .build();
     }
 
+    @Transactional
     public ResponseMessage<StudentResponse> addLessonProgram(HttpServletRequest request,
                         ChooseLessonProgramWithId chooseLessonProgramWithId) {
 
@@ -145,6 +267,7 @@ public class StudentService {
         student.setLessonProgramList(lessonProgramsFromUserDb);
 
         User updatedStudent = userRepository.save(student);
+        timetableService.evict(Collections.singletonList(student.getId()));
 
         return ResponseMessage.<StudentResponse>builder()
                 .message(SuccessMessages.LESSON_PROGRAM_ADD_TO_STUDENT)
@@ -160,6 +283,7 @@ public class StudentService {
 
         student.setActive(status);
         userRepository.save(student);
+        userDetailsCache.evict(student.getUsername());
 
         return ResponseMessage.builder()
                 .message("Student is "+ (status ? "active" : "passive"))
@@ -13,7 +13,9 @@ import com.project.schoolmanagment.payload.response.abstracts.ResponseMessage;
 import com.project.schoolmanagment.payload.response.user.TeacherResponse;
 import com.project.schoolmanagment.payload.response.user.UserResponse;
 import com.project.schoolmanagment.repository.user.UserRepository;
+import com.project.schoolmanagment.security.service.UserDetailsCache;
 import com.project.schoolmanagment.service.business.LessonProgramService;
+import com.project.schoolmanagment.service.business.TimetableService;
 import com.project.schoolmanagment.service.helper.MethodHelper;
 import com.project.schoolmanagment.service.validator.DateTimeValidator;
 import com.project.schoolmanagment.service.validator.UniquePropertyValidator;
@@ -22,7 +24,9 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -39,6 +43,8 @@ public class TeacherService {
     private final PasswordEncoder passwordEncoder;
     private final MethodHelper methodHelper;
     private final DateTimeValidator dateTimeValidator;
+    private final UserDetailsCache userDetailsCache;
+    private final TimetableService timetableService;
 
 
     public ResponseMessage<TeacherResponse> saveTeacher(TeacherRequest teacherRequest) {
@@ -91,6 +97,8 @@ public class TeacherService {
 
         //saving
         User savedTeacher = userRepository.save(updatedTeacher);
+        userDetailsCache.evict(teacher.getUsername());
+        timetableService.evict(Collections.singletonList(teacher.getId()));
 
         //returning
         return ResponseMessage.<TeacherResponse>builder()
@@ -101,6 +109,7 @@ public class TeacherService {
 
     }
 
+    @Transactional
     public ResponseMessage<TeacherResponse> addLessonProgram(ChooseLessonTeacherRequest teacherRequest) {
         //validate if exist
         User teacher = methodHelper.isUserExist(teacherRequest.getTeacherId());
@@ -126,6 +135,7 @@ public class TeacherService {
         teacher.setLessonProgramList(teacherExistingLessonProgram);
 
         User updatedTeacher = userRepository.save(teacher);
+        timetableService.evict(Collections.singletonList(teacher.getId()));
 
         return ResponseMessage.<TeacherResponse>builder()
                 .message(SuccessMessages.LESSON_PROGRAM_ADD_TO_TEACHER)
@@ -156,6 +166,7 @@ public class TeacherService {
         teacher.setIsAdvisor(false);
 
         userRepository.save(teacher);
+        userDetailsCache.evict(teacher.getUsername());
 
         List<User> allStudents = userRepository.findByAdvisorTeacherId(id);
 
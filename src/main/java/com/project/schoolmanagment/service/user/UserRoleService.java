@@ -5,6 +5,7 @@ import com.project.schoolmanagment.entity.enums.RoleType;
 import com.project.schoolmanagment.exception.ResourceNotFoundException;
 import com.project.schoolmanagment.payload.messages.ErrorMessages;
 import com.project.schoolmanagment.repository.user.UserRoleRepository;
+import com.project.schoolmanagment.service.helper.ReferenceDataCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -15,10 +16,16 @@ import java.util.List;
 public class UserRoleService {
 
     private final UserRoleRepository userRoleRepository;
+    private final ReferenceDataCache referenceDataCache;
 
+    //every user, student and teacher save needs a role, they are served from memory
     public UserRole getUserRole(RoleType roleType){
-        return userRoleRepository.findByEnumRoleEquals(roleType)
-                .orElseThrow(()->new ResourceNotFoundException(ErrorMessages.ROLE_NOT_FOUND));
+        UserRole userRole = referenceDataCache.getUserRoles()
+                .get(roleType, type -> userRoleRepository.findByEnumRoleEquals(type).orElse(null));
+        if(userRole == null){
+            throw new ResourceNotFoundException(ErrorMessages.ROLE_NOT_FOUND);
+        }
+        return userRole;
     }
 
 
@@ -27,4 +34,8 @@ public class UserRoleService {
         return userRoleRepository.findAll();
     }
 
+    public void warmUpCache(){
+        userRoleRepository.findAll().forEach(userRole -> referenceDataCache.getUserRoles().put(userRole.getRoleType(), userRole));
+    }
+
 }
@@ -10,8 +10,11 @@ import com.project.schoolmanagment.payload.request.user.UserRequest;
 import com.project.schoolmanagment.payload.request.user.UserRequestWithoutPassword;
 import com.project.schoolmanagment.payload.response.abstracts.BaseUserResponse;
 import com.project.schoolmanagment.payload.response.abstracts.ResponseMessage;
+import com.project.schoolmanagment.payload.response.abstracts.SliceResponse;
 import com.project.schoolmanagment.payload.response.user.UserResponse;
 import com.project.schoolmanagment.repository.user.UserRepository;
+import com.project.schoolmanagment.security.service.UserDetailsCache;
+import com.project.schoolmanagment.service.helper.KeysetPageHelper;
 import com.project.schoolmanagment.service.helper.MethodHelper;
 import com.project.schoolmanagment.service.helper.PageableHelper;
 import com.project.schoolmanagment.service.validator.UniquePropertyValidator;
@@ -22,10 +25,13 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.servlet.http.HttpServletRequest;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -42,11 +48,15 @@ public class UserService {
 
     private final PageableHelper pageableHelper;
 
+    private final KeysetPageHelper keysetPageHelper;
+
     private final MethodHelper methodHelper;
 
     //after security dependency usage
     private final PasswordEncoder passwordEncoder;
 
+    private final UserDetailsCache userDetailsCache;
+
 
     public ResponseMessage<UserResponse> saveUser(UserRequest userRequest, String userRole) {
 
@@ -96,6 +106,7 @@ public class UserService {
      * @param userId for query
      * @return mapped DTO BaseUserResponse
      */
+    @Transactional(readOnly = true)
     public ResponseMessage<BaseUserResponse> getUserById(Long userId) {
 
         //exception handling if no user exists in DB
@@ -129,6 +140,15 @@ public class UserService {
 
     }
 
+    public SliceResponse<UserResponse> getUsersByCursor(String cursor, int size, String sort, String type,
+                                                        boolean withTotal, String userRole) {
+
+        return keysetPageHelper.getSlice(User.class,
+                        (root, query, cb) -> cb.equal(root.get("userRole").get("roleName"), userRole),
+                        sort, type, cursor, size, withTotal)
+                .map(userMapper::mapUserToUserResponse);
+    }
+
     public List<UserResponse> getUserByName(String userName) {
 
         return userRepository.getUserByNameContaining(userName)
@@ -164,6 +184,8 @@ public class UserService {
         user.setSurname(userRequestWithoutPassword.getSurname());
         user.setSsn(userRequestWithoutPassword.getSsn());
         userRepository.save(user);
+        //username may have changed, old principal must not be served any more
+        userDetailsCache.evict(userName);
 
         String message = SuccessMessages.USER_UPDATE;
 
@@ -172,8 +194,22 @@ public class UserService {
     }
 
 
+    /**
+     * loads all users with one query
+     * @param userId ids to fetch
+     * @return users of the ids, an exception lists the ids that do not exist
+     */
     public List<User> findUsersByIdArray(Long[] userId){
-        return userRepository.findUsersByIdArray(userId);
+        List<User> users = userRepository.findUsersByIdArray(userId);
 
+        Set<Long> foundIds = users.stream().map(User::getId).collect(Collectors.toSet());
+        List<Long> missingIds = Arrays.stream(userId)
+                .filter(id -> !foundIds.contains(id))
+                .distinct()
+                .collect(Collectors.toList());
+        if(!missingIds.isEmpty()){
+            throw new ResourceNotFoundException(String.format(ErrorMessages.NOT_FOUND_USER_MESSAGE, missingIds));
+        }
+        return users;
     }
 }
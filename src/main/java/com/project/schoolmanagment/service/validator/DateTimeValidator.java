@@ -1,14 +1,17 @@
 package com.project.schoolmanagment.service.validator;
 
 import com.project.schoolmanagment.entity.concretes.business.LessonProgram;
+import com.project.schoolmanagment.entity.enums.Day;
 import com.project.schoolmanagment.exception.BadRequestException;
 import com.project.schoolmanagment.exception.ResourceNotFoundException;
 import com.project.schoolmanagment.payload.messages.ErrorMessages;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalTime;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.*;
+import java.util.stream.Collectors;
 
 @Component
 public class DateTimeValidator {
@@ -26,41 +29,62 @@ public class DateTimeValidator {
 
     //validate lesson programs in case of conflicting each other
     public void checkDuplicateLessonPrograms(Set<LessonProgram> lessonPrograms){
-        Set<String> uniqueLessonProgramDays = new HashSet<>();
-        Set<LocalTime> existingLessonProgramStartTimes = new HashSet<>();
-        Set<LocalTime> existingLessonProgramStopTimes = new HashSet<>();
 
-        for(LessonProgram lessonProgram : lessonPrograms){
-            String lessonProgramDay = lessonProgram.getDay().name();
+        List<LessonProgramConflict> conflicts = findConflicts(lessonPrograms);
 
-            //if they are in the same day
-            if (uniqueLessonProgramDays.contains(lessonProgramDay)){
+        if(!conflicts.isEmpty()){
+            String conflictingPairs = conflicts.stream()
+                    .map(conflict -> conflict.getFirst().getId() + "-" + conflict.getSecond().getId())
+                    .collect(Collectors.joining(", "));
+            throw new BadRequestException(String.format(ErrorMessages.LESSON_PROGRAM_CONFLICT_MESSAGE, conflictingPairs));
+        }
 
-                //validate in case of start time
-                for(LocalTime startTime: existingLessonProgramStartTimes){
-                    //if the start time is the same
-                    if(lessonProgram.getStartTime().equals(startTime)){
-                        throw new BadRequestException(ErrorMessages.LESSON_PROGRAM_ALREADY_EXIST);
-                    }
-                    if(lessonProgram.getStartTime().isBefore(startTime)&&lessonProgram.getStopTime().isAfter(startTime)){
-                        throw new BadRequestException(ErrorMessages.LESSON_PROGRAM_ALREADY_EXIST);
-                    }
+    }
+
+    /**
+     * sweeps the programs of every day in start time order, O(n log n) plus the number of conflicts.
+     * [startTime, stopTime) ranges are compared, so back to back lessons do not conflict
+     * @param lessonPrograms to validate against each other
+     * @return every overlapping pair, empty if there is none
+     */
+    public List<LessonProgramConflict> findConflicts(Collection<LessonProgram> lessonPrograms){
+
+        Map<Day, List<LessonProgram>> programsByDay = new EnumMap<>(Day.class);
+        for (LessonProgram lessonProgram : lessonPrograms) {
+            programsByDay.computeIfAbsent(lessonProgram.getDay(), day -> new ArrayList<>()).add(lessonProgram);
+        }
+
+        List<LessonProgramConflict> conflicts = new ArrayList<>();
+        for (List<LessonProgram> dayPrograms : programsByDay.values()) {
+            dayPrograms.sort(Comparator.comparing(LessonProgram::getStartTime));
+
+            //programs that have started but not finished yet, the earliest ending first
+            PriorityQueue<LessonProgram> running = new PriorityQueue<>(Comparator.comparing(LessonProgram::getStopTime));
+            for (LessonProgram lessonProgram : dayPrograms) {
+                while (!running.isEmpty() && !running.peek().getStopTime().isAfter(lessonProgram.getStartTime())) {
+                    running.poll();
                 }
-                //validate for stop time
-                for (LocalTime stopTime:existingLessonProgramStopTimes){
-                    if(lessonProgram.getStartTime().isBefore(stopTime)&&lessonProgram.getStopTime().isAfter(stopTime)){
-                        throw new BadRequestException(ErrorMessages.LESSON_PROGRAM_ALREADY_EXIST);
+                for (LessonProgram runningProgram : running) {
+                    //same program loaded twice is not a conflict
+                    if (!Objects.equals(runningProgram.getId(), lessonProgram.getId())) {
+                        conflicts.add(new LessonProgramConflict(runningProgram, lessonProgram));
                     }
                 }
+                running.add(lessonProgram);
             }
-
-            uniqueLessonProgramDays.add(lessonProgramDay);
-            existingLessonProgramStartTimes.add(lessonProgram.getStartTime());
-            existingLessonProgramStopTimes.add(lessonProgram.getStopTime());
         }
-
+        return conflicts;
     }
 
 
+    @Getter
+    @AllArgsConstructor
+    public static class LessonProgramConflict {
+
+        private final LessonProgram first;
+
+        private final LessonProgram second;
+    }
+
 
 }
@@ -4,35 +4,53 @@ import com.project.schoolmanagment.entity.concretes.user.User;
 import com.project.schoolmanagment.exception.ConflictException;
 import com.project.schoolmanagment.payload.messages.ErrorMessages;
 import com.project.schoolmanagment.payload.request.abstracts.AbstractUserRequest;
+import com.project.schoolmanagment.repository.user.UniqueUserFieldsView;
 import com.project.schoolmanagment.repository.user.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.*;
+import java.util.function.Function;
+
 @Component
 @RequiredArgsConstructor
 
 public class UniquePropertyValidator {
 
+    //rows looked up with one query in findDuplicates
+    private static final int LOOKUP_CHUNK_SIZE = 500;
+
     private final UserRepository userRepository;
 
     public void checkDuplicate(String username, String ssn, String phone, String email){
 
-        if(userRepository.existsByUsername(username)){
+        //users holding any of the four values, fetched in one round trip
+        List<UniqueUserFieldsView> conflicts = userRepository.findUniqueFieldsIn(
+                Collections.singleton(username),
+                Collections.singleton(ssn),
+                Collections.singleton(phone),
+                Collections.singleton(email));
+
+        if(conflicts.isEmpty()){
+            return;
+        }
+
+        if(conflicts.stream().anyMatch(view -> Objects.equals(view.getUsername(), username))){
 
             throw new ConflictException(String.format(ErrorMessages.ALREADY_REGISTER_MESSAGE_USERNAME, username));
         }
 
-        if(userRepository.existsByEmail(email)){
+        if(conflicts.stream().anyMatch(view -> Objects.equals(view.getEmail(), email))){
             throw new ConflictException(String.format(ErrorMessages.ALREADY_REGISTER_MESSAGE_EMAIL,email));
 
         }
 
-        if(userRepository.existsBySsn(ssn)){
+        if(conflicts.stream().anyMatch(view -> Objects.equals(view.getSsn(), ssn))){
             throw new ConflictException(String.format(ErrorMessages.ALREADY_REGISTER_MESSAGE_SSN,ssn));
 
         }
 
-        if(userRepository.existsByPhoneNumber(phone)){
+        if(conflicts.stream().anyMatch(view -> Objects.equals(view.getPhoneNumber(), phone))){
             throw new ConflictException(String.format(ErrorMessages.ALREADY_REGISTER_MESSAGE_PHONE_NUMBER,phone));
 
         }
@@ -78,4 +96,79 @@ public class UniquePropertyValidator {
     }
 
 
+    /**
+     * set based version of checkDuplicate for a whole batch, DB is queried once per chunk of rows.
+     * values repeated inside the batch are reported too, also when they are in different chunks
+     * @param requests rows of the batch
+     * @return row index -> conflict messages, rows without conflict are not in the map
+     */
+    public Map<Integer, List<String>> findDuplicates(List<? extends AbstractUserRequest> requests){
+
+        Map<Integer, List<String>> errors = new HashMap<>();
+        if(requests.isEmpty()){
+            return errors;
+        }
+
+        Set<String> usedUsernames = new HashSet<>();
+        Set<String> usedSsns = new HashSet<>();
+        Set<String> usedPhoneNumbers = new HashSet<>();
+        Set<String> usedEmails = new HashSet<>();
+        //keeps the IN lists of one query bounded
+        for (int from = 0; from < requests.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<? extends AbstractUserRequest> chunk = requests.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, requests.size()));
+            for (UniqueUserFieldsView view : userRepository.findUniqueFieldsIn(
+                    collect(chunk, AbstractUserRequest::getUsername),
+                    collect(chunk, AbstractUserRequest::getSsn),
+                    collect(chunk, AbstractUserRequest::getPhoneNumber),
+                    collect(chunk, AbstractUserRequest::getEmail))) {
+                usedUsernames.add(view.getUsername());
+                usedSsns.add(view.getSsn());
+                usedPhoneNumbers.add(view.getPhoneNumber());
+                usedEmails.add(view.getEmail());
+            }
+        }
+
+        //one pass over the whole batch, a value repeated in row 1 and row 600 is still seen
+        Set<String> seenUsernames = new HashSet<>();
+        Set<String> seenSsns = new HashSet<>();
+        Set<String> seenPhoneNumbers = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            AbstractUserRequest request = requests.get(i);
+            List<String> messages = new ArrayList<>();
+            //same order as checkDuplicate
+            check(request.getUsername(), "username", ErrorMessages.ALREADY_REGISTER_MESSAGE_USERNAME, usedUsernames, seenUsernames, messages);
+            check(request.getEmail(), "email", ErrorMessages.ALREADY_REGISTER_MESSAGE_EMAIL, usedEmails, seenEmails, messages);
+            check(request.getSsn(), "ssn", ErrorMessages.ALREADY_REGISTER_MESSAGE_SSN, usedSsns, seenSsns, messages);
+            check(request.getPhoneNumber(), "phone number", ErrorMessages.ALREADY_REGISTER_MESSAGE_PHONE_NUMBER, usedPhoneNumbers, seenPhoneNumbers, messages);
+            if(!messages.isEmpty()){
+                errors.put(i, messages);
+            }
+        }
+        return errors;
+    }
+
+    private Set<String> collect(List<? extends AbstractUserRequest> requests, Function<AbstractUserRequest, String> getter){
+        Set<String> values = new HashSet<>();
+        for (AbstractUserRequest request : requests) {
+            values.add(getter.apply(request));
+        }
+        //an empty IN list is not valid SQL
+        values.remove(null);
+        if(values.isEmpty()){
+            values.add("");
+        }
+        return values;
+    }
+
+    private void check(String value, String field, String registeredMessage,
+                       Set<String> usedInDb, Set<String> seenInBatch, List<String> messages){
+        if(usedInDb.contains(value)){
+            messages.add(String.format(registeredMessage, value));
+        } else if(!seenInBatch.add(value)){
+            messages.add(String.format(ErrorMessages.DUPLICATED_IN_REQUEST_MESSAGE, field, value));
+        }
+    }
+
+
 }
@@ -0,0 +1,144 @@
+package com.project.schoolmanagment.controller.business;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.schoolmanagment.EmbeddedPostgresTest;
+import com.project.schoolmanagment.entity.concretes.user.User;
+import com.project.schoolmanagment.entity.enums.RoleType;
+import com.project.schoolmanagment.payload.messages.ErrorMessages;
+import com.project.schoolmanagment.repository.business.MeetTimeView;
+import com.project.schoolmanagment.repository.business.MeetingRepository;
+import com.project.schoolmanagment.repository.user.UserRepository;
+import com.project.schoolmanagment.service.user.UserRoleService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.*;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MeetingControllerTest extends EmbeddedPostgresTest {
+
+    private static final String PASSWORD = "12345678";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserRoleService userRoleService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MeetingRepository meetingRepository;
+
+    @Test
+    void conflictingMeetingsAreListedInTheErrorResponse() throws Exception {
+        User teacher = createUser(RoleType.TEACHER);
+        User firstStudent = createUser(RoleType.STUDENT);
+        User secondStudent = createUser(RoleType.STUDENT);
+        String token = login(teacher.getUsername());
+        LocalDate date = LocalDate.now().plusDays(10);
+
+        ResponseEntity<String> saved = saveMeeting(token, date, "10:00", "11:00", firstStudent);
+        assertThat(saved.getStatusCode()).isEqualTo(HttpStatus.OK);
+        long meetId = objectMapper.readTree(saved.getBody()).at("/object/id").asLong();
+
+        ResponseEntity<String> conflict = saveMeeting(token, date, "10:30", "11:30", firstStudent, secondStudent);
+
+        assertThat(conflict.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        JsonNode body = objectMapper.readTree(conflict.getBody());
+        assertThat(body.get("message").asText()).isEqualTo(ErrorMessages.MEET_HOURS_CONFLICT);
+        //ordered by participant, the teacher was created first
+        JsonNode conflicts = body.get("conflicts");
+        assertThat(conflicts).hasSize(2);
+        assertThat(conflicts.get(0).get("participantId").asLong()).isEqualTo(teacher.getId());
+        assertThat(conflicts.get(0).get("meetId").asLong()).isEqualTo(meetId);
+        assertThat(conflicts.get(1).get("participantId").asLong()).isEqualTo(firstStudent.getId());
+        assertThat(conflicts.get(1).get("meetId").asLong()).isEqualTo(meetId);
+    }
+
+    @Test
+    void meetTimesAreFoundThroughTheAdvisorAndThroughTheStudents() throws Exception {
+        User teacher = createUser(RoleType.TEACHER);
+        User firstStudent = createUser(RoleType.STUDENT);
+        User secondStudent = createUser(RoleType.STUDENT);
+        User otherStudent = createUser(RoleType.STUDENT);
+        String token = login(teacher.getUsername());
+        LocalDate date = LocalDate.now().plusDays(20);
+
+        assertThat(saveMeeting(token, date, "13:00", "14:00", firstStudent, secondStudent).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+
+        //found once, though the advisor and both students take part in it
+        List<MeetTimeView> times = meetingRepository.findMeetTimesOfUsers(
+                Arrays.asList(teacher.getId(), firstStudent.getId(), secondStudent.getId()), date, date);
+        assertThat(times).hasSize(1);
+        assertThat(times.get(0).getDate()).isEqualTo(date);
+        assertThat(times.get(0).getStartTime()).isEqualTo(LocalTime.of(13, 0));
+        assertThat(times.get(0).getStopTime()).isEqualTo(LocalTime.of(14, 0));
+
+        assertThat(meetingRepository.findMeetTimesOfUsers(Collections.singletonList(teacher.getId()), date, date))
+                .hasSize(1);
+        assertThat(meetingRepository.findMeetTimesOfUsers(Collections.singletonList(secondStudent.getId()), date, date))
+                .hasSize(1);
+        assertThat(meetingRepository.findMeetTimesOfUsers(Collections.singletonList(otherStudent.getId()), date, date))
+                .isEmpty();
+        assertThat(meetingRepository.findMeetTimesOfUsers(Collections.singletonList(teacher.getId()),
+                date.plusDays(1), date.plusDays(7))).isEmpty();
+    }
+
+    private ResponseEntity<String> saveMeeting(String token, LocalDate date, String startTime, String stopTime,
+                                               User... students) throws Exception {
+        Map<String, Object> request = new HashMap<>();
+        request.put("description", "Advisory meeting");
+        request.put("date", date.toString());
+        request.put("startTime", startTime);
+        request.put("stopTime", stopTime);
+        request.put("studentIds", Arrays.stream(students).map(User::getId).toArray());
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set(HttpHeaders.AUTHORIZATION, token);
+        return restTemplate.exchange("/meet/save", HttpMethod.POST,
+                new HttpEntity<>(objectMapper.writeValueAsString(request), headers), String.class);
+    }
+
+    private String login(String username) throws Exception {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        String body = "{\"username\":\"" + username + "\",\"password\":\"" + PASSWORD + "\"}";
+        ResponseEntity<String> response = restTemplate.postForEntity("/auth/login", new HttpEntity<>(body, headers),
+                String.class);
+        return "Bearer " + objectMapper.readTree(response.getBody()).get("token").asText();
+    }
+
+    private User createUser(RoleType roleType) {
+        String unique = UUID.randomUUID().toString().substring(0, 8);
+        User user = new User();
+        user.setUsername("meet" + unique);
+        user.setSsn(unique);
+        user.setPhoneNumber(unique);
+        user.setEmail(unique + "@school.com");
+        user.setName("Meeting");
+        user.setSurname(roleType.name());
+        user.setPassword(passwordEncoder.encode(PASSWORD));
+        user.setActive(true);
+        user.setIsAdvisor(roleType == RoleType.TEACHER);
+        user.setBuiltIn(false);
+        user.setUserRole(userRoleService.getUserRole(roleType));
+        return userRepository.save(user);
+    }
+}
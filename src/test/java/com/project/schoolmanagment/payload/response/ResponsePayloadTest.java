@@ -0,0 +1,234 @@
+package com.project.schoolmanagment.payload.response;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.schoolmanagment.EmbeddedPostgresTest;
+import com.project.schoolmanagment.entity.concretes.business.EducationTerm;
+import com.project.schoolmanagment.entity.concretes.business.Lesson;
+import com.project.schoolmanagment.entity.concretes.business.LessonProgram;
+import com.project.schoolmanagment.entity.concretes.user.User;
+import com.project.schoolmanagment.entity.enums.Day;
+import com.project.schoolmanagment.entity.enums.RoleType;
+import com.project.schoolmanagment.entity.enums.Term;
+import com.project.schoolmanagment.payload.response.business.LessonProgramResponse;
+import com.project.schoolmanagment.payload.response.user.StudentResponse;
+import com.project.schoolmanagment.payload.response.user.TeacherResponse;
+import com.project.schoolmanagment.repository.business.EducationTermRepository;
+import com.project.schoolmanagment.repository.business.LessonProgramRepository;
+import com.project.schoolmanagment.repository.business.LessonRepository;
+import com.project.schoolmanagment.repository.user.UserRepository;
+import com.project.schoolmanagment.service.metrics.QueryCountInspector;
+import com.project.schoolmanagment.service.user.UserRoleService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import javax.persistence.Entity;
+import java.lang.reflect.*;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guards the flat response DTOs: no JPA entity inside them, and the student and lesson program
+ * endpoints stay within a statement and payload budget that does not grow with the entity graph.
+ */
+@AutoConfigureMockMvc
+class ResponsePayloadTest extends EmbeddedPostgresTest {
+
+    private static final int PROGRAM_COUNT = 10;
+    private static final int LESSONS_PER_PROGRAM = 3;
+    //other students holding the same programs, an embedded entity graph would serialize them too
+    private static final int CLASSMATE_COUNT = 20;
+
+    //statements of a request once the principal is cached: user with role, then its programs with lessons and terms
+    private static final int USER_BY_ID_QUERY_BUDGET = 3;
+    //one program with 3 lessons and its term as flat DTOs is about 470 bytes
+    private static final int BYTES_PER_PROGRAM_BUDGET = 800;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private QueryCountInspector queryCountInspector;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserRoleService userRoleService;
+
+    @Autowired
+    private LessonProgramRepository lessonProgramRepository;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private EducationTermRepository educationTermRepository;
+
+    private String adminToken;
+
+    @BeforeEach
+    void login() throws Exception {
+        MvcResult result = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"superAdmin\",\"password\":\"12345678\"}"))
+                .andExpect(status().isOk())
+                .andReturn();
+        adminToken = "Bearer " + objectMapper.readTree(result.getResponse().getContentAsString()).get("token").asText();
+    }
+
+    @Test
+    void responsesDoNotEmbedEntities() {
+        for (Class<?> response : Arrays.asList(StudentResponse.class, TeacherResponse.class, LessonProgramResponse.class)) {
+            assertThat(findEntityFields(response, new HashSet<>()))
+                    .as("entity fields reachable from %s", response.getSimpleName())
+                    .isEmpty();
+        }
+    }
+
+    @Test
+    void studentByIdStaysWithinBudget() throws Exception {
+        Set<LessonProgram> lessonPrograms = createPrograms();
+        User student = createStudent(lessonPrograms);
+        for (int i = 0; i < CLASSMATE_COUNT; i++) {
+            createStudent(lessonPrograms);
+        }
+
+        //first call caches the principal of the admin
+        perform("/user/getUserById/" + student.getId());
+        int before = queryCountInspector.getCount();
+        MvcResult result = perform("/user/getUserById/" + student.getId());
+        int queries = queryCountInspector.getCount() - before;
+
+        JsonNode body = objectMapper.readTree(result.getResponse().getContentAsString());
+        assertThat(body.at("/object/lessonProgramSet")).hasSize(PROGRAM_COUNT);
+        assertThat(queries).isLessThanOrEqualTo(USER_BY_ID_QUERY_BUDGET);
+        assertThat(result.getResponse().getContentAsByteArray().length)
+                .isLessThan(PROGRAM_COUNT * BYTES_PER_PROGRAM_BUDGET + 1000);
+    }
+
+    @Test
+    void lessonProgramListStaysWithinBudget() throws Exception {
+        Set<LessonProgram> lessonPrograms = createPrograms();
+        for (int i = 0; i < CLASSMATE_COUNT; i++) {
+            createStudent(lessonPrograms);
+        }
+
+        perform("/lessonPrograms/getAll");
+        int before = queryCountInspector.getCount();
+        MvcResult result = perform("/lessonPrograms/getAll");
+        int queries = queryCountInspector.getCount() - before;
+
+        JsonNode body = objectMapper.readTree(result.getResponse().getContentAsString());
+        assertThat(body.size()).isGreaterThanOrEqualTo(PROGRAM_COUNT);
+        //programs, lessons and terms in one statement, the users are not touched
+        assertThat(queries).isEqualTo(1);
+        assertThat(result.getResponse().getContentAsByteArray().length)
+                .isLessThan(body.size() * BYTES_PER_PROGRAM_BUDGET);
+    }
+
+    private MvcResult perform(String path) throws Exception {
+        return mockMvc.perform(get(path).header(HttpHeaders.AUTHORIZATION, adminToken))
+                .andExpect(status().isOk())
+                .andReturn();
+    }
+
+    //fields whose type, or one of its type arguments, is an entity, following the other response classes
+    private List<String> findEntityFields(Class<?> type, Set<Class<?>> visited) {
+        List<String> entityFields = new ArrayList<>();
+        if (!visited.add(type)) {
+            return entityFields;
+        }
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                for (Class<?> fieldType : rawTypes(field.getGenericType())) {
+                    if (fieldType.isAnnotationPresent(Entity.class)) {
+                        entityFields.add(current.getSimpleName() + "." + field.getName());
+                    } else if (fieldType.getName().startsWith("com.project.schoolmanagment.payload")) {
+                        entityFields.addAll(findEntityFields(fieldType, visited));
+                    }
+                }
+            }
+        }
+        return entityFields;
+    }
+
+    private List<Class<?>> rawTypes(Type type) {
+        List<Class<?>> types = new ArrayList<>();
+        if (type instanceof Class) {
+            types.add((Class<?>) type);
+        } else if (type instanceof ParameterizedType) {
+            types.addAll(rawTypes(((ParameterizedType) type).getRawType()));
+            for (Type argument : ((ParameterizedType) type).getActualTypeArguments()) {
+                types.addAll(rawTypes(argument));
+            }
+        } else if (type instanceof WildcardType) {
+            for (Type bound : ((WildcardType) type).getUpperBounds()) {
+                types.addAll(rawTypes(bound));
+            }
+        }
+        return types;
+    }
+
+    private Set<LessonProgram> createPrograms() {
+        EducationTerm educationTerm = educationTermRepository.save(EducationTerm.builder()
+                .term(Term.SPRING_SEMESTER)
+                .startDate(LocalDate.of(2031, 2, 1))
+                .endDate(LocalDate.of(2031, 6, 15))
+                .lastRegistrationDate(LocalDate.of(2031, 1, 15))
+                .build());
+        Set<Lesson> lessons = new HashSet<>();
+        for (int i = 0; i < LESSONS_PER_PROGRAM; i++) {
+            lessons.add(lessonRepository.save(Lesson.builder()
+                    .lessonName("Payload" + UUID.randomUUID().toString().substring(0, 8))
+                    .creditScore(4)
+                    .isCompulsory(true)
+                    .build()));
+        }
+        List<LessonProgram> programs = new ArrayList<>();
+        for (int i = 0; i < PROGRAM_COUNT; i++) {
+            LocalTime start = LocalTime.of(9, 0).plusMinutes(i);
+            programs.add(LessonProgram.builder()
+                    .day(Day.values()[i % Day.values().length])
+                    .startTime(start)
+                    .stopTime(start.plusHours(1))
+                    .lessons(lessons)
+                    .educationTerm(educationTerm)
+                    .build());
+        }
+        return new HashSet<>(lessonProgramRepository.saveAll(programs));
+    }
+
+    private User createStudent(Set<LessonProgram> lessonPrograms) {
+        String unique = UUID.randomUUID().toString().substring(0, 8);
+        User student = new User();
+        student.setUsername("payload" + unique);
+        student.setSsn(unique);
+        student.setPhoneNumber(unique);
+        student.setEmail(unique + "@school.com");
+        student.setName("Payload");
+        student.setSurname("Student");
+        student.setActive(true);
+        student.setUserRole(userRoleService.getUserRole(RoleType.STUDENT));
+        student.setLessonProgramList(new HashSet<>(lessonPrograms));
+        return userRepository.save(student);
+    }
+}
@@ -0,0 +1,115 @@
+package com.project.schoolmanagment.security.service;
+
+import com.project.schoolmanagment.exception.TooManyRequestsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExecutorPasswordEncoderTest {
+
+    private static final int THREADS = 1;
+    private static final int QUEUE_CAPACITY = 2;
+
+    private final ThreadPoolExecutor hashingPool = (ThreadPoolExecutor) Executors.newFixedThreadPool(THREADS);
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+
+    //hashes block until released, so the test controls how many are admitted at once
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ExecutorPasswordEncoder passwordEncoder =
+            new ExecutorPasswordEncoder(new BlockingEncoder(release), hashingPool, THREADS, QUEUE_CAPACITY);
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        callers.shutdownNow();
+        hashingPool.shutdownNow();
+    }
+
+    @Test
+    void callsBeyondThreadsAndQueueAreRejected() throws Exception {
+        List<Future<String>> admitted = new ArrayList<>();
+        for (int i = 0; i < THREADS + QUEUE_CAPACITY; i++) {
+            admitted.add(callers.submit(() -> passwordEncoder.encode("password")));
+        }
+        waitUntilAdmitted(THREADS + QUEUE_CAPACITY);
+
+        assertThatThrownBy(() -> passwordEncoder.matches("password", "hash"))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThat(passwordEncoder.getRejected()).isEqualTo(1);
+
+        release.countDown();
+        for (Future<String> future : admitted) {
+            assertThat(future.get(10, TimeUnit.SECONDS)).isEqualTo("hashed:password");
+        }
+        //the permits are given back, the next call is admitted again
+        assertThat(passwordEncoder.encode("again")).isEqualTo("hashed:again");
+    }
+
+    @Test
+    void bulkHashingWaitsInsteadOfFailingAndLeavesRoomForLogins() throws Exception {
+        List<String> passwords = Arrays.asList("a", "b", "c", "d", "e");
+        Future<List<String>> bulk = callers.submit(() -> passwordEncoder.encodeAll(passwords));
+        waitUntilAdmitted(THREADS);
+
+        //the import holds one slot per thread, the queue is still free for logins
+        Future<String> login = callers.submit(() -> passwordEncoder.encode("login"));
+        waitUntilAdmitted(THREADS + 1);
+
+        release.countDown();
+        assertThat(bulk.get(10, TimeUnit.SECONDS)).containsExactly(
+                "hashed:a", "hashed:b", "hashed:c", "hashed:d", "hashed:e");
+        assertThat(login.get(10, TimeUnit.SECONDS)).isEqualTo("hashed:login");
+        assertThat(passwordEncoder.getRejected()).isZero();
+    }
+
+    //hashes handed to the pool, running or queued
+    private void waitUntilAdmitted(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (admitted() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(admitted()).isEqualTo(count);
+    }
+
+    private int admitted() {
+        return hashingPool.getQueue().size() + hashingPool.getActiveCount();
+    }
+
+    private static class BlockingEncoder implements PasswordEncoder {
+
+        private final CountDownLatch release;
+
+        BlockingEncoder(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            await();
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            await();
+            return encodedPassword.equals("hashed:" + rawPassword);
+        }
+
+        private void await() {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.project.schoolmanagment.service.business;
+
+import com.project.schoolmanagment.EmbeddedPostgresTest;
+import com.project.schoolmanagment.entity.concretes.business.EducationTerm;
+import com.project.schoolmanagment.entity.concretes.business.Lesson;
+import com.project.schoolmanagment.entity.concretes.business.LessonProgram;
+import com.project.schoolmanagment.entity.concretes.user.User;
+import com.project.schoolmanagment.entity.enums.Day;
+import com.project.schoolmanagment.entity.enums.Term;
+import com.project.schoolmanagment.payload.response.business.LessonProgramResponse;
+import com.project.schoolmanagment.repository.business.EducationTermRepository;
+import com.project.schoolmanagment.repository.business.LessonProgramRepository;
+import com.project.schoolmanagment.repository.business.LessonRepository;
+import com.project.schoolmanagment.repository.user.UserRepository;
+import com.project.schoolmanagment.service.metrics.QueryCountInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LessonProgramServiceTest extends EmbeddedPostgresTest {
+
+    private static final int PROGRAM_COUNT = 60;
+    private static final int LESSONS_PER_PROGRAM = 3;
+
+    @Autowired
+    private LessonProgramService lessonProgramService;
+
+    @Autowired
+    private LessonProgramRepository lessonProgramRepository;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private EducationTermRepository educationTermRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private QueryCountInspector queryCountInspector;
+
+    @Test
+    void listsReturnEveryProgramOnceWithConstantQueries() {
+        //every second program is held by two users
+        List<Long> programIds = createPrograms();
+        Set<Long> assignedIds = new HashSet<>();
+        for (int i = 0; i < programIds.size(); i += 2) {
+            assignedIds.add(programIds.get(i));
+        }
+        assignUsers(assignedIds);
+
+        List<LessonProgramResponse> all = countQueries(lessonProgramService::getAllLessonProgramsByList, 1);
+        assertEveryProgramOnce(all, programIds);
+        assertThat(all).filteredOn(response -> programIds.contains(response.getLessonProgramId()))
+                .allMatch(response -> response.getLessonName().size() == LESSONS_PER_PROGRAM);
+
+        List<LessonProgramResponse> unassigned = countQueries(lessonProgramService::getAllUnassigned, 1);
+        assertEveryProgramOnce(unassigned, programIds.stream()
+                .filter(id -> !assignedIds.contains(id))
+                .collect(Collectors.toList()));
+
+        List<LessonProgramResponse> assigned = countQueries(lessonProgramService::getAllLessonProgramsAssigned, 1);
+        assertEveryProgramOnce(assigned, new ArrayList<>(assignedIds));
+
+        //page, count, then lessons of the whole page in one batch
+        List<LessonProgramResponse> page = countQueries(() -> lessonProgramService
+                .getAllLessonProgramsByPage(0, 50, "id", "desc").getContent(), 3);
+        assertThat(page).hasSize(50);
+        assertThat(page).extracting(LessonProgramResponse::getLessonProgramId).doesNotHaveDuplicates();
+    }
+
+    private void assertEveryProgramOnce(List<LessonProgramResponse> responses, List<Long> expectedIds) {
+        assertThat(responses).extracting(LessonProgramResponse::getLessonProgramId).doesNotHaveDuplicates();
+        assertThat(responses).extracting(LessonProgramResponse::getLessonProgramId).containsAll(expectedIds);
+    }
+
+    //the statement count does not depend on the number of programs, lessons or users
+    private <T> T countQueries(Supplier<T> call, int expectedQueries) {
+        int before = queryCountInspector.getCount();
+        T result = call.get();
+        assertThat(queryCountInspector.getCount() - before).isEqualTo(expectedQueries);
+        return result;
+    }
+
+    private List<Long> createPrograms() {
+        EducationTerm educationTerm = educationTermRepository.save(EducationTerm.builder()
+                .term(Term.FALL_SEMESTER)
+                .startDate(LocalDate.of(2030, 9, 1))
+                .endDate(LocalDate.of(2031, 1, 15))
+                .lastRegistrationDate(LocalDate.of(2030, 8, 15))
+                .build());
+        List<Lesson> lessons = new ArrayList<>();
+        for (int i = 0; i < LESSONS_PER_PROGRAM; i++) {
+            lessons.add(lessonRepository.save(Lesson.builder()
+                    .lessonName("ProgramListLesson" + UUID.randomUUID())
+                    .creditScore(3)
+                    .isCompulsory(false)
+                    .build()));
+        }
+        List<LessonProgram> programs = new ArrayList<>();
+        for (int i = 0; i < PROGRAM_COUNT; i++) {
+            LocalTime start = LocalTime.of(8, 0).plusMinutes(i);
+            programs.add(LessonProgram.builder()
+                    .day(Day.values()[i % Day.values().length])
+                    .startTime(start)
+                    .stopTime(start.plusHours(1))
+                    .lessons(new HashSet<>(lessons))
+                    .educationTerm(educationTerm)
+                    .build());
+        }
+        return lessonProgramRepository.saveAll(programs)
+                .stream()
+                .map(LessonProgram::getId)
+                .collect(Collectors.toList());
+    }
+
+    private void assignUsers(Set<Long> lessonProgramIds) {
+        Set<LessonProgram> lessonPrograms = new HashSet<>(lessonProgramRepository.findAllById(lessonProgramIds));
+        for (int i = 0; i < 2; i++) {
+            String unique = UUID.randomUUID().toString().substring(0, 8);
+            User user = new User();
+            user.setUsername("holder" + unique);
+            user.setSsn(unique);
+            user.setPhoneNumber(unique);
+            user.setEmail(unique + "@school.com");
+            user.setLessonProgramList(lessonPrograms);
+            userRepository.save(user);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.project.schoolmanagment.service.business;
+
+import com.project.schoolmanagment.EmbeddedPostgresTest;
+import com.project.schoolmanagment.entity.concretes.business.EducationTerm;
+import com.project.schoolmanagment.entity.concretes.business.Lesson;
+import com.project.schoolmanagment.entity.concretes.business.StudentInfo;
+import com.project.schoolmanagment.entity.concretes.user.User;
+import com.project.schoolmanagment.entity.enums.Note;
+import com.project.schoolmanagment.entity.enums.RoleType;
+import com.project.schoolmanagment.entity.enums.Term;
+import com.project.schoolmanagment.payload.request.business.LessonRequest;
+import com.project.schoolmanagment.payload.request.business.StudentGradeRequest;
+import com.project.schoolmanagment.payload.request.business.StudentInfoBatchRequest;
+import com.project.schoolmanagment.payload.request.business.StudentInfoRequest;
+import com.project.schoolmanagment.payload.request.business.UpdateStudentInfoRequest;
+import com.project.schoolmanagment.payload.response.abstracts.BatchSaveResponse;
+import com.project.schoolmanagment.repository.business.EducationTermRepository;
+import com.project.schoolmanagment.repository.business.LessonRepository;
+import com.project.schoolmanagment.repository.business.StudentInfoRepository;
+import com.project.schoolmanagment.repository.user.UserRepository;
+import com.project.schoolmanagment.service.user.UserRoleService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StudentInfoServiceTest extends EmbeddedPostgresTest {
+
+    @Autowired
+    private StudentInfoService studentInfoService;
+
+    @Autowired
+    private StudentInfoRepository studentInfoRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserRoleService userRoleService;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private EducationTermRepository educationTermRepository;
+
+    @Autowired
+    private LessonService lessonService;
+
+    @Autowired
+    private TranscriptService transcriptService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void batchSaveInsertsTheValidRows() {
+        User teacher = createUser(RoleType.TEACHER);
+        User firstStudent = createUser(RoleType.STUDENT);
+        User secondStudent = createUser(RoleType.STUDENT);
+        Lesson lesson = createLesson(5);
+        EducationTerm educationTerm = createEducationTerm();
+
+        StudentInfoBatchRequest batchRequest = StudentInfoBatchRequest.builder()
+                .lessonId(lesson.getLessonId())
+                .educationTermId(educationTerm.getId())
+                .grades(Arrays.asList(
+                        grade(firstStudent, 40.0, 90.0),
+                        grade(secondStudent, 30.0, 40.0),
+                        //the same student twice
+                        grade(firstStudent, 50.0, 50.0)))
+                .build();
+
+        BatchSaveResponse response = studentInfoService.saveStudentInfoBatch(request(teacher), batchRequest).getObject();
+
+        assertThat(response.getSavedCount()).isEqualTo(2);
+        assertThat(response.getErrors()).hasSize(1);
+        assertThat(response.getErrors().get(0).getRow()).isEqualTo(2);
+
+        List<StudentInfo> firstInfos = studentInfoRepository.getAllByStudentId_Id(firstStudent.getId());
+        assertThat(firstInfos).hasSize(1);
+        StudentInfo studentInfo = firstInfos.get(0);
+        assertThat(studentInfo.getExamAverage()).isEqualTo(70.0);
+        assertThat(studentInfo.getLetterGrade()).isEqualTo(Note.BB);
+        assertThat(studentInfo.getAbsentee()).isEqualTo(2);
+        assertThat(studentInfo.getTeacher().getId()).isEqualTo(teacher.getId());
+        assertThat(studentInfo.getLesson().getLessonId()).isEqualTo(lesson.getLessonId());
+        assertThat(studentInfo.getEducationTerm().getId()).isEqualTo(educationTerm.getId());
+        assertThat(studentInfoRepository.getAllByStudentId_Id(secondStudent.getId()))
+                .extracting(StudentInfo::getLetterGrade)
+                .containsExactly(Note.FF);
+    }
+
+    @Test
+    void transcriptTotalsFollowEveryChangeLikeARebuild() {
+        User teacher = createUser(RoleType.TEACHER);
+        User firstStudent = createUser(RoleType.STUDENT);
+        User secondStudent = createUser(RoleType.STUDENT);
+        Lesson lesson = createLesson(5);
+        Lesson otherLesson = createLesson(3);
+        EducationTerm educationTerm = createEducationTerm();
+        EducationTerm otherTerm = createEducationTerm();
+
+        Long savedId = studentInfoService.saveStudentInfo(request(teacher), StudentInfoRequest.builder()
+                .studentId(firstStudent.getId())
+                .lessonId(lesson.getLessonId())
+                .educationTermId(educationTerm.getId())
+                .midtermExam(60.0)
+                .finalExam(80.0)
+                .absentee(1)
+                .infoNote("Graded one by one")
+                .build()).getObject().getId();
+        studentInfoService.saveStudentInfoBatch(request(teacher), StudentInfoBatchRequest.builder()
+                .lessonId(otherLesson.getLessonId())
+                .educationTermId(educationTerm.getId())
+                .grades(Arrays.asList(grade(firstStudent, 70.0, 75.0), grade(secondStudent, 45.0, 55.0)))
+                .build());
+
+        //moves the first info to the other term
+        UpdateStudentInfoRequest update = new UpdateStudentInfoRequest();
+        update.setLessonId(lesson.getLessonId());
+        update.setEducationTermId(otherTerm.getId());
+        update.setMidtermExam(90.0);
+        update.setFinalExam(85.0);
+        update.setAbsentee(0);
+        update.setInfoNote("Graded again later");
+        studentInfoService.update(update, savedId);
+
+        studentInfoService.deleteById(studentInfoRepository.getAllByStudentId_Id(secondStudent.getId()).get(0).getId());
+
+        //written around the services without an average, neither the deltas nor the rebuild count it
+        jdbcTemplate.update("INSERT INTO student_info (absentee, education_term_id, lesson_lesson_id, student_id, " +
+                "teacher_id) VALUES (0, ?, ?, ?, ?)", otherTerm.getId(), lesson.getLessonId(), firstStudent.getId(),
+                teacher.getId());
+        lessonService.updateLesson(lesson.getLessonId(), LessonRequest.builder()
+                .lessonName(lesson.getLessonName())
+                .creditScore(2)
+                .isCompulsory(true)
+                .build());
+
+        List<String> incremental = readTranscripts(firstStudent, secondStudent);
+        transcriptService.rebuildAll();
+        List<String> rebuilt = readTranscripts(firstStudent, secondStudent);
+
+        assertThat(incremental).isEqualTo(rebuilt);
+        //first student: the updated info in the other term and the batch one, the second one was deleted
+        assertThat(incremental).hasSize(2);
+    }
+
+    private MockHttpServletRequest request(User teacher) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute("username", teacher.getUsername());
+        return request;
+    }
+
+    private StudentGradeRequest grade(User student, double midtermExam, double finalExam) {
+        return StudentGradeRequest.builder()
+                .studentId(student.getId())
+                .midtermExam(midtermExam)
+                .finalExam(finalExam)
+                .absentee(2)
+                .infoNote("Graded in a batch")
+                .build();
+    }
+
+    private User createUser(RoleType roleType) {
+        String unique = UUID.randomUUID().toString().substring(0, 8);
+        User user = new User();
+        user.setUsername("info" + unique);
+        user.setSsn(unique);
+        user.setPhoneNumber(unique);
+        user.setEmail(unique + "@school.com");
+        user.setName("Info");
+        user.setSurname(roleType.name());
+        user.setActive(true);
+        user.setIsAdvisor(false);
+        user.setUserRole(userRoleService.getUserRole(roleType));
+        return userRepository.save(user);
+    }
+
+    private Lesson createLesson(Integer creditScore) {
+        return lessonRepository.save(Lesson.builder()
+                .lessonName("Info" + UUID.randomUUID().toString().substring(0, 8))
+                .creditScore(creditScore)
+                .isCompulsory(true)
+                .build());
+    }
+
+    //rows of student_term_gpa, the weighted score rounded since deltas and sums may differ in the last bits
+    private List<String> readTranscripts(User... students) {
+        return jdbcTemplate.query("SELECT student_id, education_term_id, lesson_count, total_credits, weighted_score " +
+                        "FROM student_term_gpa WHERE student_id IN (?, ?) ORDER BY student_id, education_term_id",
+                (resultSet, rowNum) -> String.format(Locale.ROOT, "%d/%d: %d lessons, %d credits, %.6f",
+                        resultSet.getLong(1), resultSet.getLong(2), resultSet.getInt(3), resultSet.getInt(4),
+                        resultSet.getDouble(5)),
+                students[0].getId(), students[1].getId());
+    }
+
+    private EducationTerm createEducationTerm() {
+        return educationTermRepository.save(EducationTerm.builder()
+                .term(Term.FALL_SEMESTER)
+                .startDate(LocalDate.of(2032, 9, 1))
+                .endDate(LocalDate.of(2033, 1, 15))
+                .lastRegistrationDate(LocalDate.of(2032, 8, 15))
+                .build());
+    }
+}
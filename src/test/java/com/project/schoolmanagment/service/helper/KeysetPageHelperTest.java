@@ -0,0 +1,92 @@
+package com.project.schoolmanagment.service.helper;
+
+import com.project.schoolmanagment.EmbeddedPostgresTest;
+import com.project.schoolmanagment.entity.concretes.business.Lesson;
+import com.project.schoolmanagment.exception.BadRequestException;
+import com.project.schoolmanagment.payload.response.abstracts.SliceResponse;
+import com.project.schoolmanagment.repository.business.LessonRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetPageHelperTest extends EmbeddedPostgresTest {
+
+    @Autowired
+    private KeysetPageHelper keysetPageHelper;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    //lessons of this test only, the database is shared with the other tests
+    private Specification<Lesson> ownLessons;
+
+    private List<Lesson> lessons;
+
+    @BeforeEach
+    void setUp() {
+        String prefix = "Keyset" + UUID.randomUUID();
+        ownLessons = (root, query, cb) -> cb.like(root.get("lessonName"), prefix + "%");
+        lessons = new ArrayList<>();
+        for (Integer creditScore : Arrays.asList(3, null, 1, 3, null, 2)) {
+            lessons.add(lessonRepository.save(Lesson.builder()
+                    .lessonName(prefix + lessons.size())
+                    .creditScore(creditScore)
+                    .isCompulsory(false)
+                    .build()));
+        }
+    }
+
+    @Test
+    void rowsWithNullSortValueComeLastInBothDirections() {
+        assertThat(readAll("asc", 2)).containsExactly(
+                id(2), id(5), id(0), id(3), id(1), id(4));
+        assertThat(readAll("desc", 2)).containsExactly(
+                id(3), id(0), id(5), id(2), id(4), id(1));
+        //a slice that starts with the last non null row and continues with the null ones
+        assertThat(readAll("asc", 4)).containsExactly(
+                id(2), id(5), id(0), id(3), id(1), id(4));
+    }
+
+    @Test
+    void totalCountsRowsWithNullSortValue() {
+        SliceResponse<Lesson> slice = keysetPageHelper.getSlice(Lesson.class, ownLessons, "creditScore", "asc",
+                null, 10, true);
+        assertThat(slice.getTotalElements()).isEqualTo(lessons.size());
+        assertThat(slice.getContent()).hasSize(lessons.size());
+        assertThat(slice.isHasNext()).isFalse();
+    }
+
+    @Test
+    void sizeOutsideTheAllowedRangeIsRejected() {
+        for (int size : new int[]{0, -1, 501}) {
+            assertThatThrownBy(() -> keysetPageHelper.getSlice(Lesson.class, ownLessons, "creditScore", "asc",
+                    null, size, false))
+                    .isInstanceOf(BadRequestException.class);
+        }
+    }
+
+    private List<Long> readAll(String type, int size) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            SliceResponse<Lesson> slice = keysetPageHelper.getSlice(Lesson.class, ownLessons, "creditScore", type,
+                    cursor, size, false);
+            slice.getContent().forEach(lesson -> ids.add(lesson.getLessonId()));
+            cursor = slice.getNextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    private Long id(int index) {
+        return lessons.get(index).getLessonId();
+    }
+}
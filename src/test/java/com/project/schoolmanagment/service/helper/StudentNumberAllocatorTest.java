@@ -0,0 +1,63 @@
+package com.project.schoolmanagment.service.helper;
+
+import com.project.schoolmanagment.EmbeddedPostgresTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StudentNumberAllocatorTest extends EmbeddedPostgresTest {
+
+    private static final int THREADS = 16;
+    private static final int REGISTRATIONS_PER_THREAD = 250;
+    private static final int BULK_SIZE = 50;
+    private static final int BULK_EVERY = 50;
+
+    @Autowired
+    private StudentNumberAllocator studentNumberAllocator;
+
+    @Test
+    void parallelRegistrationsNeverGetTheSameNumber() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<List<Integer>>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                //every fourth thread reserves numbers for bulk imports in between
+                boolean bulk = thread % 4 == 0;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    List<Integer> numbers = new ArrayList<>();
+                    for (int i = 0; i < REGISTRATIONS_PER_THREAD; i++) {
+                        if (bulk && i % BULK_EVERY == 0) {
+                            numbers.addAll(studentNumberAllocator.nextStudentNumbers(BULK_SIZE));
+                        }
+                        numbers.add(studentNumberAllocator.nextStudentNumber());
+                    }
+                    return numbers;
+                }));
+            }
+            start.countDown();
+
+            List<Integer> numbers = new ArrayList<>();
+            for (Future<List<Integer>> future : futures) {
+                numbers.addAll(future.get(2, TimeUnit.MINUTES));
+            }
+            Set<Integer> distinct = new HashSet<>(numbers);
+
+            int bulkThreads = THREADS / 4;
+            int expected = THREADS * REGISTRATIONS_PER_THREAD + bulkThreads * (REGISTRATIONS_PER_THREAD / BULK_EVERY) * BULK_SIZE;
+            assertThat(numbers).hasSize(expected);
+            assertThat(distinct).hasSize(numbers.size());
+            assertThat(numbers).allMatch(number -> number >= 1000);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
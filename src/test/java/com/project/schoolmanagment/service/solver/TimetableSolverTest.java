@@ -0,0 +1,115 @@
+package com.project.schoolmanagment.service.solver;
+
+import com.project.schoolmanagment.entity.enums.Day;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimetableSolverTest {
+
+    private static final long STUDENT_ID = 100L;
+
+    private final TimetableSolver timetableSolver = new TimetableSolver();
+
+    private final TimetableSolver.ProgramLesson lessonA = new TimetableSolver.ProgramLesson(1L, 5, true);
+    private final TimetableSolver.ProgramLesson lessonB = new TimetableSolver.ProgramLesson(2L, 4, true);
+    private final TimetableSolver.ProgramLesson otherTermLesson = new TimetableSolver.ProgramLesson(3L, 3, false);
+
+    @Test
+    void lessonWithoutFreeProgramDoesNotBlockTheOthers() {
+        //the student holds a program of another term on Monday 09-10, lesson A is only offered then
+        List<TimetableSolver.Program> programs = Arrays.asList(
+                program(1L, Day.MONDAY, 9, false, otherTermLesson),
+                program(2L, Day.MONDAY, 9, true, lessonA),
+                program(3L, Day.TUESDAY, 9, true, lessonB));
+
+        TimetableSolver.Solution solution = solve(programs, 1L);
+
+        assertThat(solution.getStudentAssignments()).containsEntry(STUDENT_ID, Collections.singletonList(3L));
+        assertThat(solution.getShortfalls()).hasSize(1);
+        assertThat(solution.getShortfalls().get(0).getMissingLessonIds()).containsExactly(1L);
+    }
+
+    @Test
+    void lessonBlockedByAnEarlierChoiceIsGivenUpForTheBestBranch() {
+        //A and B only fit together if A is taken on Wednesday, B is only offered on Monday 09-10
+        List<TimetableSolver.Program> programs = Arrays.asList(
+                program(1L, Day.MONDAY, 9, true, lessonA),
+                program(2L, Day.WEDNESDAY, 9, true, lessonA),
+                program(3L, Day.MONDAY, 9, true, lessonB));
+
+        TimetableSolver.Solution solution = solve(programs);
+
+        assertThat(solution.getStudentAssignments()).containsEntry(STUDENT_ID, Arrays.asList(2L, 3L));
+        assertThat(solution.getShortfalls()).isEmpty();
+    }
+
+    @Test
+    void everyCompulsoryLessonWithoutProgramIsReported() {
+        //neither lesson has a program the student can take
+        List<TimetableSolver.Program> programs = Arrays.asList(
+                program(1L, Day.MONDAY, 9, false, otherTermLesson),
+                program(2L, Day.MONDAY, 9, true, lessonA),
+                program(3L, Day.MONDAY, 9, true, lessonB));
+
+        TimetableSolver.Solution solution = solve(programs, 1L);
+
+        assertThat(solution.getStudentAssignments()).doesNotContainKey(STUDENT_ID);
+        assertThat(solution.getShortfalls()).hasSize(1);
+        assertThat(solution.getShortfalls().get(0).getMissingLessonIds()).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void newStudentsAreSpreadOverEquivalentSections() {
+        List<TimetableSolver.Program> programs = Arrays.asList(
+                program(1L, Day.MONDAY, 9, true, lessonA),
+                program(2L, Day.TUESDAY, 9, true, lessonA));
+        List<TimetableSolver.Participant> students = new ArrayList<>();
+        for (long id = 1; id <= 40; id++) {
+            students.add(new TimetableSolver.Participant(id, Collections.emptySet()));
+        }
+
+        TimetableSolver.Solution solution = timetableSolver.solve(
+                new TimetableSolver.Problem(programs, Collections.emptyList(), students, 0));
+
+        Map<List<Long>, Long> studentsBySections = new HashMap<>();
+        solution.getStudentAssignments().values().forEach(sections -> studentsBySections.merge(sections, 1L, Long::sum));
+        assertThat(studentsBySections)
+                .containsEntry(Collections.singletonList(1L), 20L)
+                .containsEntry(Collections.singletonList(2L), 20L);
+    }
+
+    @Test
+    void sectionWithATeacherIsPreferredOverAnUnstaffedOne() {
+        //the only teacher holds a program of another term on Monday 09-10, so the Monday section stays unstaffed
+        List<TimetableSolver.Program> programs = Arrays.asList(
+                program(1L, Day.MONDAY, 9, false, otherTermLesson),
+                program(2L, Day.MONDAY, 9, true, lessonA),
+                program(3L, Day.TUESDAY, 9, true, lessonA));
+        TimetableSolver.Participant teacher =
+                new TimetableSolver.Participant(10L, Collections.singleton(1L));
+        TimetableSolver.Participant student = new TimetableSolver.Participant(STUDENT_ID, Collections.emptySet());
+
+        TimetableSolver.Solution solution = timetableSolver.solve(new TimetableSolver.Problem(programs,
+                Collections.singletonList(teacher), Collections.singletonList(student), 0));
+
+        assertThat(solution.getUnassignedLessonProgramIds()).containsExactly(2L);
+        assertThat(solution.getStudentAssignments()).containsEntry(STUDENT_ID, Collections.singletonList(3L));
+    }
+
+    private TimetableSolver.Solution solve(List<TimetableSolver.Program> programs, Long... heldProgramIds) {
+        TimetableSolver.Participant student =
+                new TimetableSolver.Participant(STUDENT_ID, new HashSet<>(Arrays.asList(heldProgramIds)));
+        return timetableSolver.solve(new TimetableSolver.Problem(programs, Collections.emptyList(),
+                Collections.singletonList(student), 0));
+    }
+
+    private TimetableSolver.Program program(Long id, Day day, int startHour, boolean inTerm,
+                                            TimetableSolver.ProgramLesson lesson) {
+        return new TimetableSolver.Program(id, day, LocalTime.of(startHour, 0), LocalTime.of(startHour + 1, 0),
+                inTerm, Collections.singletonList(lesson));
+    }
+}
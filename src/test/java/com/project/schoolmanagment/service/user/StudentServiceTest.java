@@ -0,0 +1,105 @@
+package com.project.schoolmanagment.service.user;
+
+import com.project.schoolmanagment.EmbeddedPostgresTest;
+import com.project.schoolmanagment.entity.concretes.user.User;
+import com.project.schoolmanagment.entity.enums.Gender;
+import com.project.schoolmanagment.entity.enums.RoleType;
+import com.project.schoolmanagment.payload.request.user.StudentRequest;
+import com.project.schoolmanagment.payload.response.abstracts.BatchSaveResponse;
+import com.project.schoolmanagment.repository.user.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StudentServiceTest extends EmbeddedPostgresTest {
+
+    private static final String PASSWORD = "12345678";
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserRoleService userRoleService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void bulkSaveInsertsTheValidRowsLikeSave() {
+        User advisor = createAdvisor();
+        List<StudentRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            requests.add(student(advisor.getId()));
+        }
+        //repeats the username of the first row
+        requests.get(4).setUsername(requests.get(0).getUsername());
+
+        BatchSaveResponse response = studentService.bulkSaveStudents(requests).getObject();
+
+        assertThat(response.getSavedCount()).isEqualTo(4);
+        assertThat(response.getFailedCount()).isEqualTo(1);
+        assertThat(response.getErrors().get(0).getRow()).isEqualTo(4);
+
+        List<User> students = requests.subList(0, 4).stream()
+                .map(request -> userRepository.findByUsername(request.getUsername()))
+                .collect(Collectors.toList());
+        for (User student : students) {
+            assertThat(student.getUserRole().getRoleType()).isEqualTo(RoleType.STUDENT);
+            assertThat(student.getAdvisorTeacherId()).isEqualTo(advisor.getId());
+            assertThat(student.isActive()).isTrue();
+            assertThat(student.getIsAdvisor()).isFalse();
+            assertThat(student.getGender()).isEqualTo(Gender.FEMALE);
+            assertThat(passwordEncoder.matches(PASSWORD, student.getPassword())).isTrue();
+            assertThat(student.getStudentNumber()).isGreaterThanOrEqualTo(1000);
+        }
+        assertThat(students.stream().map(User::getStudentNumber).distinct()).hasSize(4);
+    }
+
+    private User createAdvisor() {
+        String unique = UUID.randomUUID().toString().substring(0, 8);
+        User advisor = new User();
+        advisor.setUsername("advisor" + unique);
+        advisor.setSsn(unique);
+        advisor.setPhoneNumber(unique);
+        advisor.setEmail(unique + "@school.com");
+        advisor.setName("Advisor");
+        advisor.setSurname("Teacher");
+        advisor.setActive(true);
+        advisor.setIsAdvisor(true);
+        advisor.setUserRole(userRoleService.getUserRole(RoleType.TEACHER));
+        return userRepository.save(advisor);
+    }
+
+    private StudentRequest student(Long advisorTeacherId) {
+        int unique = SEQUENCE.incrementAndGet();
+        return StudentRequest.builder()
+                .username("bulk" + unique)
+                .name("Bulk")
+                .surname("Student")
+                .birthDay(LocalDate.of(2008, 5, 1))
+                .birthPlace("Ankara")
+                .ssn(String.format("702-10-%04d", 1000 + unique))
+                .phoneNumber(String.format("702-555-%04d", unique))
+                .gender(Gender.FEMALE)
+                .email("bulk" + unique + "@school.com")
+                .password(PASSWORD)
+                .motherName("Mother")
+                .fatherName("Father")
+                .advisorTeacherId(advisorTeacherId)
+                .build();
+    }
+}
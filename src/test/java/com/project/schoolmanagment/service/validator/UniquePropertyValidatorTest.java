@@ -0,0 +1,54 @@
+package com.project.schoolmanagment.service.validator;
+
+import com.project.schoolmanagment.EmbeddedPostgresTest;
+import com.project.schoolmanagment.payload.messages.ErrorMessages;
+import com.project.schoolmanagment.payload.request.user.StudentRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UniquePropertyValidatorTest extends EmbeddedPostgresTest {
+
+    //more rows than one lookup chunk
+    private static final int ROW_COUNT = 700;
+
+    @Autowired
+    private UniquePropertyValidator uniquePropertyValidator;
+
+    @Test
+    void findDuplicatesReportsRepeatsAcrossChunks() {
+        List<StudentRequest> requests = new ArrayList<>();
+        for (int i = 0; i < ROW_COUNT; i++) {
+            requests.add(student(i));
+        }
+        //repeats of rows in the first chunk, far into the second one
+        requests.get(600).setSsn(requests.get(0).getSsn());
+        requests.get(650).setEmail(requests.get(1).getEmail());
+        //taken by the built in admin
+        requests.get(550).setUsername("superAdmin");
+
+        Map<Integer, List<String>> errors = uniquePropertyValidator.findDuplicates(requests);
+
+        assertThat(errors).containsOnlyKeys(550, 600, 650);
+        assertThat(errors.get(550)).containsExactly(
+                String.format(ErrorMessages.ALREADY_REGISTER_MESSAGE_USERNAME, "superAdmin"));
+        assertThat(errors.get(600)).containsExactly(
+                String.format(ErrorMessages.DUPLICATED_IN_REQUEST_MESSAGE, "ssn", requests.get(0).getSsn()));
+        assertThat(errors.get(650)).containsExactly(
+                String.format(ErrorMessages.DUPLICATED_IN_REQUEST_MESSAGE, "email", requests.get(1).getEmail()));
+    }
+
+    private StudentRequest student(int i) {
+        return StudentRequest.builder()
+                .username("dupcheck" + i)
+                .ssn(String.format("801-%02d-%04d", 10 + i / 10000, 1000 + i))
+                .phoneNumber(String.format("801-555-%04d", i))
+                .email("dupcheck" + i + "@school.com")
+                .build();
+    }
+}